@@ -48,6 +48,7 @@ public class Main {
     private static final String STUDENT_DOES_NOT_EXIST = "%s does not exist!";
     private static final String NO_STUDENTS_FROM_COUNTRY = "No students from %s!";
     private static final String NO_STUDENTS_YET = "No students yet!";
+    private static final String NO_STUDENTS_ON_PAGE = "No students on this page!";
     private static final String GO_SUCCESS = "%s is now at %s.";
     private static final String GO_DISTRACTED = "%s is distracted!";
     private static final String UNKNOWN_LOCATION_FMT = "Unknown %s!";
@@ -71,8 +72,22 @@ public class Main {
     private static final String NO_SERVICES_OF_TYPE = "No %s services!";
     private static final String NO_SERVICES_WITH_AVERAGE = "No %s services with average!";
     private static final String RANKED_HEADER = "%s services closer with %d average";
+    private static final String NEAREST_HEADER = "%s services closest to %s";
+    private static final String INVALID_SERVICE_COUNT = "Invalid number of services!";
+    private static final String CHEAPEST_LODGING = "%s is the cheapest lodging with free rooms.";
+    private static final String NO_FREE_LODGING = "No lodging with free rooms!";
     private static final String ERROR_SAVING_AREA = "Erro saving area: %s";
     private static final String NO_SERVICES_WITH_TAG = "There are no services with this tag!";
+    private static final String NO_SERVICES_IN_RECTANGLE = "No services in this rectangle!";
+
+    // Admin messages
+    private static final String STATISTICS_ENABLED = "Index statistics enabled.";
+    private static final String STATISTICS_DISABLED = "Index statistics disabled.";
+    private static final String STATISTICS_NOT_ENABLED = "Index statistics are disabled. Type stats on to enable them.";
+    private static final String INVALID_STATISTICS_ARGUMENT = "Invalid argument! Type stats on or stats off.";
+    private static final String INDEX_STATISTICS = "%s: %d entries, %d slots, load factor %.2f, %d rehashes (%.3f ms), %d removed cells";
+    private static final String INDEX_LENGTHS = "%s lengths:";
+    private static final String NAME_FILTERS = "Name filters false positive rate: students %.2f%%, services %.2f%%";
 
     /**
      * Program entry point. Initialize scanner and start command loop.
@@ -126,6 +141,9 @@ public class Main {
                     case CMD_STUDENTS:
                         processStudents(line, currentArea);
                         break;
+                    case CMD_RECTANGLE:
+                        processRectangle(line, currentArea);
+                        break;
                     case CMD_LEAVE:
                         processLeave(line, currentArea);
                         break;
@@ -153,12 +171,21 @@ public class Main {
                     case CMD_RANKED:
                         processRanked(line, currentArea);
                         break;
+                    case CMD_NEAREST:
+                        processNearest(line, currentArea);
+                        break;
+                    case CMD_CHEAPEST:
+                        processCheapest(currentArea);
+                        break;
                     case CMD_TAG:
                         processTag(line, currentArea);
                         break;
                     case CMD_FIND:
                         processFind(line, in, currentArea);
                         break;
+                    case CMD_STATS:
+                        processStats(line, currentArea);
+                        break;
                     case CMD_HELP:
                         System.out.printf(CommandDescription.getHelpMessage());
                         break;
@@ -364,7 +391,7 @@ public class Main {
         }
         catch (ExistingServiceException e) {
             // if a service with the same name exists, print the canonical cased name
-            n = currentArea.getServiceCasedName(n.toLowerCase());
+            n = currentArea.getServiceCasedName(n);
             System.out.printf((SERVICE_ALREADY_EXISTS) + "%n", n);
         }
     }
@@ -414,7 +441,7 @@ public class Main {
         };
 
         String name = in.nextLine();
-        String country = in.nextLine().toLowerCase();
+        String country = in.nextLine();
         String lodgingName = in.nextLine();
 
         try {
@@ -431,11 +458,96 @@ public class Main {
             System.out.printf((LODGING_IS_FULL) + "%n", lodgingName);
         }
         catch (ExistingStudentException e) {
-            name = currentArea.getStudentCasedName(name.toLowerCase());
+            name = currentArea.getStudentCasedName(name);
             System.out.printf((STUDENT_ALREADY_EXISTS) + "%n", name);
         }
     }
 
+    /**
+     * Handle 'stats' admin command: 'stats on' and 'stats off' enable and disable
+     * the hash index statistics, 'stats' prints them. Any other argument is rejected.
+     *
+     * @param line tokenized command line
+     * @param currentArea current area (may be null)
+     */
+    private static void processStats(String[] line, Area currentArea) {
+        if (currentArea == null) {
+            System.out.println(SYSTEM_BOUNDS_NOT_DEFINED);
+            return;
+        }
+        if (line.length > 1) {
+            String arg = line[1].toLowerCase();
+            if (line.length > 2 || !(arg.equals("on") || arg.equals("off"))) {
+                System.out.println(INVALID_STATISTICS_ARGUMENT);
+                return;
+            }
+            boolean enabled = arg.equals("on");
+            currentArea.setIndexStatisticsEnabled(enabled);
+            System.out.println(enabled ? STATISTICS_ENABLED : STATISTICS_DISABLED);
+            return;
+        }
+
+        boolean any = false;
+        for (AreaIndex index : AreaIndex.values()) {
+            HashTableStatistics stats = currentArea.getIndexStatistics(index);
+            if (stats == null) continue;
+            any = true;
+            System.out.printf((INDEX_STATISTICS) + "%n", index, stats.size(), stats.capacity(),
+                    stats.loadFactor(), stats.rehashes(), stats.rehashNanos() / 1e6, stats.removedCells());
+
+            StringBuilder lengths = new StringBuilder(String.format(INDEX_LENGTHS, index));
+            int[] histogram = stats.lengthHistogram();
+            for (int i = 0; i < histogram.length; i++) {
+                lengths.append(' ').append(i).append(i == histogram.length - 1 ? "+" : "").append('=').append(histogram[i]);
+            }
+            System.out.println(lengths);
+        }
+        if (!any) System.out.println(STATISTICS_NOT_ENABLED);
+        System.out.printf((NAME_FILTERS) + "%n", 100 * currentArea.getStudentNameFalsePositiveRate(),
+                100 * currentArea.getServiceNameFalsePositiveRate());
+    }
+
+    /**
+     * Handle 'rectangle' command: list services inside a rectangle, optionally of one type.
+     *
+     * @pre line.length >= 5
+     * @param line tokenized command line (top left bottom right [type])
+     * @param currentArea current area (may be null)
+     */
+    private static void processRectangle(String[] line, Area currentArea) {
+        if (currentArea == null) {
+            System.out.println(SYSTEM_BOUNDS_NOT_DEFINED);
+            return;
+        }
+
+        long topLat = Long.parseLong(line[1]);
+        long leftLong = Long.parseLong(line[2]);
+        long bottomLat = Long.parseLong(line[3]);
+        long rightLong = Long.parseLong(line[4]);
+        String type = line.length > 5 ? line[5].toLowerCase() : null;
+
+        // same validation as the bounds command
+        if (topLat <= bottomLat || rightLong <= leftLong) {
+            System.out.println(INVALID_BOUNDS);
+            return;
+        }
+
+        try {
+            Iterator<ServiceClass> it = currentArea.listServicesInRectangle(topLat, leftLong, bottomLat, rightLong, type);
+            while (it.hasNext()) {
+                ServiceClass s = it.next();
+                System.out.printf(currentArea.getServiceName(s) + ": " + currentArea.getServiceType(s) +
+                        " (%.0f" + "," + " %.0f).\n", currentArea.getServiceLatitude(s), currentArea.getServiceLongitude(s));
+            }
+        }
+        catch (InvalidServiceException e) {
+            System.out.println(INVALID_SERVICE_TYPE);
+        }
+        catch (NoServicesInRectangleException e) {
+            System.out.println(NO_SERVICES_IN_RECTANGLE);
+        }
+    }
+
     private static String buildString(int startIdx, String[] line){
         StringBuilder sb = new StringBuilder();
 
@@ -454,11 +566,11 @@ public class Main {
      * @param currentArea current area
      */
     private static void processLeave(String[] line, Area currentArea) {
-        String name = currentArea.getStudentCasedName(buildString(1,line).toLowerCase());
+        String name = currentArea.getStudentCasedName(buildString(1,line));
         if (name == null) name = buildString(1,line);
 
         try {
-            currentArea.removeStudent(name.toLowerCase());
+            currentArea.removeStudent(name);
             System.out.printf((STUDENT_LEFT) + "%n", name);
         }
         catch (NonExistingStudentException e) {
@@ -467,7 +579,9 @@ public class Main {
     }
 
     /**
-     * Handle 'students' command: either "students all" or "students <country>".
+     * Handle 'students' command: either "students all", "students all <offset> <limit>"
+     * (one page of the alphabetical listing, with a message if the page is empty)
+     * or "students <country>".
      *
      * @pre line.length >= 2 && currentArea != null
      * @param line tokenized command line
@@ -494,8 +608,14 @@ public class Main {
 
             if (arg.equalsIgnoreCase("all")) {
                 it = currentArea.listAllStudentsAlphabetically();
+            } else if (isPage(line)) {
+                it = currentArea.listAllStudentsAlphabetically(Integer.parseInt(line[2]), Integer.parseInt(line[3]));
+                if (!it.hasNext()) {
+                    System.out.println(NO_STUDENTS_ON_PAGE);
+                    return;
+                }
             } else {
-                it = currentArea.listStudentsByCountry(arg.toLowerCase());
+                it = currentArea.listStudentsByCountry(arg);
             }
 
             while (it.hasNext()) {
@@ -516,6 +636,17 @@ public class Main {
         }
     }
 
+    /**
+     * Checks whether a 'students' command asks for a page: "students all <offset> <limit>".
+     *
+     * @param line tokenized command line
+     * @return true if the arguments are "all" and two non-negative integers
+     */
+    private static boolean isPage(String[] line) {
+        return line.length == 4 && line[1].equalsIgnoreCase("all")
+                && line[2].matches("\\d{1,9}") && line[3].matches("\\d{1,9}");
+    }
+
     /**
      * Handle 'go' command. Reads the destination service name from the next input line.
      *
@@ -525,17 +656,17 @@ public class Main {
      * @param line tokenized command line (first token is "go" and rest are student name)
      */
     private static void processGo(Scanner in, AreaClass currentArea, String[] line) {
-        String studentName = currentArea.getStudentCasedName(buildString(1,line).toLowerCase());
+        String studentName = currentArea.getStudentCasedName(buildString(1,line));
 
         if(studentName == null) studentName = buildString(1,line);
 
         String locationNamein = in.nextLine().trim();
-        String locationName = currentArea.getServiceCasedName(locationNamein.toLowerCase());
+        String locationName = currentArea.getServiceCasedName(locationNamein);
 
         if(locationName == null) locationName = locationNamein;
 
         try {
-            currentArea.goToLocation(studentName.toLowerCase(), locationName.toLowerCase());
+            currentArea.goToLocation(studentName, locationName);
             System.out.printf((GO_SUCCESS) + "%n", studentName, locationName);
 
         }
@@ -575,7 +706,7 @@ public class Main {
      * @param line tokenized command line (first token is "move" and rest are student name)
      */
     private static void processMove(Scanner in, AreaClass currentArea, String[] line) {
-        String studentName = currentArea.getStudentCasedName(buildString(1,line).toLowerCase());
+        String studentName = currentArea.getStudentCasedName(buildString(1,line));
 
         if (studentName == null) studentName = buildString(1,line);
 
@@ -584,7 +715,7 @@ public class Main {
         if (currentArea.getServiceCasedName(lodgingName) != null) lodgingName = currentArea.getServiceCasedName(lodgingName);
 
         try {
-            currentArea.moveStudentHome(studentName.toLowerCase(), lodgingName.toLowerCase());
+            currentArea.moveStudentHome(studentName, lodgingName);
             System.out.printf((MOVE_SUCCESS) + "%n", lodgingName, studentName, studentName);
 
         }
@@ -623,14 +754,14 @@ public class Main {
         String orderStr = line[1].trim();
         char order = orderStr.charAt(0);
 
-        String serviceName = currentArea.getServiceCasedName(buildString(2,line).toLowerCase());
+        String serviceName = currentArea.getServiceCasedName(buildString(2,line));
 
         if(serviceName == null) serviceName = buildString(2,line);
 
         try {
             if (order== '>') {
                 // forward iterator
-                Iterator<StudentClass> it = currentArea.listStudentsInService(order, serviceName.toLowerCase());
+                Iterator<StudentClass> it = currentArea.listStudentsInService(order, serviceName);
 
                 while (it.hasNext()) {
                     StudentClass s = it.next();
@@ -638,7 +769,7 @@ public class Main {
                 }
             } else {
                 // reverse iteration via two-way iterator - print in reverse order
-                TwoWayIterator<StudentClass> it = (TwoWayIterator<StudentClass>) currentArea.listStudentsInService(order, serviceName.toLowerCase());
+                TwoWayIterator<StudentClass> it = (TwoWayIterator<StudentClass>) currentArea.listStudentsInService(order, serviceName);
 
                 while (it.hasPrevious()) {
                     StudentClass s = it.previous();
@@ -668,14 +799,13 @@ public class Main {
      * @param currentArea current area
      */
     private static void processWhere(String[] line, AreaClass currentArea) {
-        String studentName = currentArea.getStudentCasedName(buildString(1,line).toLowerCase());
+        String studentName = currentArea.getStudentCasedName(buildString(1,line));
         if(studentName == null) studentName = buildString(1,line);
-        String lowername = studentName.toLowerCase();
         try {
-            String locName = currentArea.getStudentLocationNameByName(lowername);
-            String locType = currentArea.getStudentLocationTypeByName(lowername);
-            long lat = currentArea.getStudentLocationLatitudeByName(lowername);
-            long lon = currentArea.getStudentLocationLongitudeByName(lowername);
+            String locName = currentArea.getStudentLocationNameByName(studentName);
+            String locType = currentArea.getStudentLocationTypeByName(studentName);
+            long lat = currentArea.getStudentLocationLatitudeByName(studentName);
+            long lon = currentArea.getStudentLocationLongitudeByName(studentName);
 
             System.out.printf("%s is at %s %s (%d, %d).%n",
                     studentName, locName, locType, lat, lon);
@@ -693,12 +823,12 @@ public class Main {
      * @param currentArea current area
      */
     private static void processVisited(String[] line, AreaClass currentArea) {
-        String studentName = currentArea.getStudentCasedName(buildString(1,line).toLowerCase());
+        String studentName = currentArea.getStudentCasedName(buildString(1,line));
 
         if(studentName == null) studentName = buildString(1,line);
 
         try {
-            Iterator<ServiceClass> it = currentArea.listVisited(studentName.toLowerCase());
+            Iterator<ServiceClass> it = currentArea.listVisited(studentName);
             while (it.hasNext()) {
                 ServiceClass s = it.next();
                 System.out.println(currentArea.getServiceName(s));
@@ -730,7 +860,7 @@ public class Main {
         String description = in.nextLine();
 
         try {
-            currentArea.starService(stars, serviceName.toLowerCase(), description);
+            currentArea.starService(stars, serviceName, description);
             System.out.println(EVALUATION_REGISTERED);
 
         }
@@ -777,12 +907,12 @@ public class Main {
         String typeStr = line[1].trim().toLowerCase();
         int stars = Integer.parseInt(line[2].trim());
 
-        String studentName = currentArea.getStudentCasedName(buildString(3,line).toLowerCase());
+        String studentName = currentArea.getStudentCasedName(buildString(3,line));
 
         if(studentName == null) studentName = buildString(3,line);
 
         try {
-            Iterator<ServiceClass> it = currentArea.findServicesByRating(typeStr, stars, studentName.toLowerCase());
+            Iterator<ServiceClass> it = currentArea.findServicesByRating(typeStr, stars, studentName);
             System.out.printf((RANKED_HEADER) + "%n", typeStr, stars);
 
             while (it.hasNext()) {
@@ -807,6 +937,76 @@ public class Main {
         }
     }
 
+    /**
+     * Handle 'nearest' command: list the k services of a type, rated at least
+     * a given average, closest to a student ("nearest <type> <k> <stars> <student>").
+     *
+     * @pre line.length >= 5
+     * @param line tokenized command line
+     * @param currentArea current area (may be null)
+     */
+    private static void processNearest(String[] line, AreaClass currentArea) {
+        if (currentArea == null) {
+            System.out.println(SYSTEM_BOUNDS_NOT_DEFINED);
+            return;
+        }
+        String typeStr = line[1].trim().toLowerCase();
+        int k = Integer.parseInt(line[2].trim());
+        int stars = Integer.parseInt(line[3].trim());
+
+        String studentName = currentArea.getStudentCasedName(buildString(4,line));
+
+        if(studentName == null) studentName = buildString(4,line);
+
+        try {
+            Iterator<ServiceClass> it = currentArea.findKNearest(studentName, typeStr, k, stars);
+            System.out.printf((NEAREST_HEADER) + "%n", typeStr, studentName);
+
+            while (it.hasNext()) {
+                ServiceClass s = it.next();
+                System.out.println(currentArea.getServiceName(s));
+            }
+        }
+        catch (InvalidServiceException e) {
+            System.out.println(INVALID_SERVICE_TYPE);
+        }
+        catch (InvalidEvaluationException e) {
+            System.out.println(INVALID_STARS);
+        }
+        catch (InvalidServiceCountException e) {
+            System.out.println(INVALID_SERVICE_COUNT);
+        }
+        catch (NonExistingStudentException e) {
+            System.out.printf((STUDENT_DOES_NOT_EXIST) + "%n", studentName);
+        }
+        catch (NoServicesOfTheTypeException e) {
+            System.out.printf((NO_SERVICES_OF_TYPE) + "%n", typeStr);
+        }
+        catch (NoServicesWithAverageException e) {
+            System.out.printf((NO_SERVICES_WITH_AVERAGE) + "%n", typeStr);
+        }
+    }
+
+    /**
+     * Handle 'cheapest' command: show the cheapest lodging that still has free rooms.
+     *
+     * @param currentArea current area (may be null)
+     */
+    private static void processCheapest(Area currentArea) {
+        if (currentArea == null) {
+            System.out.println(SYSTEM_BOUNDS_NOT_DEFINED);
+            return;
+        }
+
+        try {
+            LodgingServiceClass lodging = currentArea.findCheapestFreeLodging();
+            System.out.printf((CHEAPEST_LODGING) + "%n", currentArea.getServiceName(lodging));
+        }
+        catch (NoFreeLodgingServiceException e) {
+            System.out.println(NO_FREE_LODGING);
+        }
+    }
+
     /**
      * Handle 'tag' command: list services whose evaluations contain a tag.
      *
@@ -843,7 +1043,7 @@ public class Main {
         String serviceType = in.nextLine().trim();
 
         try {
-            ServiceClass service = currentArea.findRelevantServiceForStudent(studentName.toLowerCase(), serviceType);
+            ServiceClass service = currentArea.findRelevantServiceForStudent(studentName, serviceType);
             System.out.println(currentArea.getServiceName(service));
         }
         catch (InvalidServiceException ex) {
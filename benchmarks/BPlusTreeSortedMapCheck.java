@@ -0,0 +1,134 @@
+package benchmarks;
+
+import dataStructures.*;
+import dataStructures.exceptions.EmptyMapException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Randomized check of BPlusTreeSortedMap against java.util.TreeMap.
+ * Each run grows the map with mostly puts, then shrinks it with mostly
+ * removes and finally removes every key, so leaves and inner nodes are
+ * split, borrow from both siblings and are merged, and the root changes
+ * height both ways. Key ranges go from a few dozen keys (a single leaf)
+ * to tens of thousands (three levels). Every so often the whole map is
+ * compared with the reference:
+ * - get, floorEntry and ceilingEntry, on keys in and around the range;
+ * - subMap ranges, which cross chained leaves, including rewinding them;
+ * - minEntry, maxEntry and the full iteration;
+ * - a copy made by a serialization round trip.
+ * Any difference throws an IllegalStateException.
+ *
+ * Usage: java benchmarks.BPlusTreeSortedMapCheck [runs]
+ */
+public class BPlusTreeSortedMapCheck {
+
+    private static final int DEFAULT_RUNS = 40;
+    private static final int OPERATIONS = 60_000;
+
+    public static void main(String[] args) throws IOException, ClassNotFoundException {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_RUNS;
+        Random random = new Random(7);
+        for (int run = 0; run < runs; run++) {
+            int range = run == 0 ? 40 : 50 + random.nextInt(20_000);
+            run(range, random);
+        }
+        System.out.println("b+ tree sorted map ok");
+    }
+
+    private static void run(int range, Random random) throws IOException, ClassNotFoundException {
+        BPlusTreeSortedMap<Integer, Integer> map = new BPlusTreeSortedMap<>();
+        TreeMap<Integer, Integer> reference = new TreeMap<>();
+        for (int op = 0; op < OPERATIONS; op++) {
+            int key = random.nextInt(range);
+            // two thirds puts while growing, two thirds removes while shrinking
+            boolean put = op < OPERATIONS * 2 / 3 ? random.nextInt(3) > 0 : random.nextInt(3) == 0;
+            if (put) check(map.put(key, op), reference.put(key, op), "put " + key);
+            else check(map.remove(key), reference.remove(key), "remove " + key);
+            if (op % 997 == 0) compare(map, reference, range, random);
+        }
+        for (Integer key : new ArrayList<>(reference.keySet())) check(map.remove(key), reference.remove(key), "remove " + key);
+        if (!map.isEmpty() || map.size() != 0) throw new IllegalStateException("not empty after removing every key");
+        compare(map, reference, range, random);
+    }
+
+    /**
+     * Compares every query of the map and of a deserialized copy with the reference.
+     */
+    private static void compare(BPlusTreeSortedMap<Integer, Integer> map, TreeMap<Integer, Integer> reference,
+                                int range, Random random) throws IOException, ClassNotFoundException {
+        compareQueries(map, reference, range, random);
+        compareQueries(roundTrip(map), reference, range, random);
+    }
+
+    private static void compareQueries(BPlusTreeSortedMap<Integer, Integer> map, TreeMap<Integer, Integer> reference,
+                                       int range, Random random) {
+        if (map.size() != reference.size()) throw new IllegalStateException("size");
+        checkIteration(map.iterator(), reference, "iterator");
+
+        if (reference.isEmpty()) {
+            try {
+                map.minEntry();
+                throw new IllegalStateException("minEntry of an empty map");
+            } catch (EmptyMapException expected) {
+                // the empty map has no minimum
+            }
+        } else {
+            if (!map.minEntry().key().equals(reference.firstKey())) throw new IllegalStateException("minEntry");
+            if (!map.maxEntry().key().equals(reference.lastKey())) throw new IllegalStateException("maxEntry");
+        }
+
+        for (int i = 0; i < 200; i++) {
+            int key = random.nextInt(range + 20) - 10;
+            check(map.get(key), reference.get(key), "get " + key);
+            checkEntry(map.floorEntry(key), reference.floorEntry(key), "floorEntry " + key);
+            checkEntry(map.ceilingEntry(key), reference.ceilingEntry(key), "ceilingEntry " + key);
+
+            int toKey = key + random.nextInt(Math.max(1, range / 20));
+            Iterator<Map.Entry<Integer, Integer>> it = map.subMap(key, toKey);
+            checkIteration(it, reference.subMap(key, toKey), "subMap " + key + " " + toKey);
+            it.rewind();
+            checkIteration(it, reference.subMap(key, toKey), "rewound subMap " + key + " " + toKey);
+        }
+    }
+
+    private static void check(Integer actual, Integer expected, String operation) {
+        if (actual == null ? expected != null : !actual.equals(expected))
+            throw new IllegalStateException(operation + ": " + actual + " instead of " + expected);
+    }
+
+    private static void checkEntry(Map.Entry<Integer, Integer> actual, java.util.Map.Entry<Integer, Integer> expected,
+                                   String operation) {
+        if (actual == null && expected == null) return;
+        if (actual == null || expected == null || !actual.key().equals(expected.getKey())
+                || !actual.value().equals(expected.getValue()))
+            throw new IllegalStateException(operation);
+    }
+
+    private static void checkIteration(Iterator<Map.Entry<Integer, Integer>> it,
+                                       java.util.SortedMap<Integer, Integer> expected, String operation) {
+        for (java.util.Map.Entry<Integer, Integer> e : expected.entrySet()) {
+            if (!it.hasNext()) throw new IllegalStateException(operation + ": missing " + e.getKey());
+            checkEntry(it.next(), e, operation);
+        }
+        if (it.hasNext()) throw new IllegalStateException(operation + ": extra entries");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T roundTrip(T object) throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (T) in.readObject();
+        }
+    }
+}
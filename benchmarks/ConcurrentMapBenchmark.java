@@ -0,0 +1,117 @@
+package benchmarks;
+
+import dataStructures.*;
+
+/**
+ * Multi-threaded throughput benchmark of StripedHashTable against an
+ * OpenAddressingHashTable behind a single lock.
+ * Every thread runs the same number of operations on a shared map preloaded
+ * with student-like names: mostly lookups (hits and misses) and some puts and
+ * removes. The best throughput of several rounds is reported per thread count.
+ *
+ * Usage: java benchmarks.ConcurrentMapBenchmark [operationsPerThread] [rounds]
+ */
+public class ConcurrentMapBenchmark {
+
+    private static final int DEFAULT_OPERATIONS = 1_000_000;
+    private static final int DEFAULT_ROUNDS = 5;
+    private static final int KEYS = 100_000;
+    private static final int[] THREADS = {1, 2, 4, 8};
+
+    /** Percentage of operations that are updates (half puts, half removes) */
+    private static final int UPDATE_PERCENT = 10;
+
+    /** Keys of the map; the upper half is absent at the start of each round */
+    private static final String[] names = new String[2 * KEYS];
+
+    public static void main(String[] args) throws InterruptedException {
+        int operations = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_OPERATIONS;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+        for (int i = 0; i < names.length; i++)
+            names[i] = "Student " + Integer.toString(i * 7919 + 13, 36);
+
+        System.out.printf("%d operations per thread, %d%% updates, best of %d rounds (Mops/s)%n",
+                operations, UPDATE_PERCENT, rounds);
+        System.out.printf("%-26s", "table");
+        for (int t : THREADS) System.out.printf(" %8s", t + " thr");
+        System.out.println();
+
+        System.out.printf("%-26s", "single lock");
+        for (int t : THREADS) System.out.printf(" %8.2f", best(new LockedMap<>(new OpenAddressingHashTable<>()), t, operations, rounds));
+        System.out.println();
+        System.out.printf("%-26s", "StripedHashTable");
+        for (int t : THREADS) System.out.printf(" %8.2f", best(new StripedHashTable<>(), t, operations, rounds));
+        System.out.println();
+    }
+
+    /**
+     * Returns the best throughput, in millions of operations per second, of several rounds.
+     */
+    private static double best(Map<String, Integer> map, int threads, int operations, int rounds)
+            throws InterruptedException {
+        for (int i = 0; i < KEYS; i++) map.put(names[i], i);
+        double best = 0;
+        for (int r = 0; r < rounds + 1; r++) {
+            double mops = round(map, threads, operations);
+            if (r > 0) best = Math.max(best, mops);  // the first round is a warm-up
+        }
+        return best;
+    }
+
+    /**
+     * Runs one round with the given number of threads and returns its throughput.
+     */
+    private static double round(Map<String, Integer> map, int threads, int operations)
+            throws InterruptedException {
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            long seed = 0x9E3779B97F4A7C15L * (t + 1);
+            workers[t] = new Thread(() -> work(map, operations, seed));
+        }
+        long start = System.nanoTime();
+        for (Thread worker : workers) worker.start();
+        for (Thread worker : workers) worker.join();
+        long elapsed = System.nanoTime() - start;
+        return (double) threads * operations / elapsed * 1e3;
+    }
+
+    /**
+     * Operations of one thread, drawn from a xorshift generator.
+     */
+    private static void work(Map<String, Integer> map, int operations, long seed) {
+        long x = seed;
+        long sink = 0;
+        for (int i = 0; i < operations; i++) {
+            x ^= x << 13;
+            x ^= x >>> 7;
+            x ^= x << 17;
+            String key = names[(int) ((x >>> 1) % names.length)];
+            int op = (int) ((x >>> 40) % 100);
+            if (op < UPDATE_PERCENT / 2) map.put(key, i);
+            else if (op < UPDATE_PERCENT) map.remove(key);
+            else if (map.get(key) != null) sink++;
+        }
+        if (sink == 42) System.out.println();
+    }
+
+    /**
+     * Map guarded by a single lock, the baseline for the striped table.
+     */
+    private static class LockedMap<K, V> implements Map<K, V> {
+
+        private final Map<K, V> map;
+
+        LockedMap(Map<K, V> map) {
+            this.map = map;
+        }
+
+        public synchronized boolean isEmpty() { return map.isEmpty(); }
+        public synchronized int size() { return map.size(); }
+        public synchronized V get(K key) { return map.get(key); }
+        public synchronized V put(K key, V value) { return map.put(key, value); }
+        public synchronized V remove(K key) { return map.remove(key); }
+        public Iterator<Entry<K, V>> iterator() { throw new UnsupportedOperationException(); }
+        public Iterator<V> values() { throw new UnsupportedOperationException(); }
+        public Iterator<K> keys() { throw new UnsupportedOperationException(); }
+    }
+}
@@ -0,0 +1,92 @@
+package benchmarks;
+
+import dataStructures.*;
+
+import java.util.Random;
+import java.util.function.IntFunction;
+
+/**
+ * Lookup benchmark of CuckooHashTable against ClosedHashTable on the
+ * case-insensitive name keys the area indexes use.
+ * Each map is filled with n names and then looked up with a hit-heavy workload
+ * (95% of the lookups find their key) and a miss-heavy one (5% do), the keys
+ * drawn at random beforehand so both maps see the same sequence. The best time
+ * of several rounds is reported, in nanoseconds per lookup, after a few
+ * warm-up rounds so the JIT compiles the code being measured.
+ *
+ * Usage: java benchmarks.CuckooBenchmark [n] [rounds]
+ */
+public class CuckooBenchmark {
+
+    private static final int DEFAULT_KEYS = 100_000;
+    private static final int DEFAULT_ROUNDS = 7;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int LOOKUPS = 2_000_000;
+    private static final int[] HIT_PERCENTS = {95, 5};
+
+    /** Prevents the JIT from discarding the lookups */
+    private static long sink;
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_KEYS;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+
+        CaseInsensitiveString[] present = keys("Student ", n);
+        CaseInsensitiveString[] absent = keys("Visitor ", n);
+
+        System.out.printf("%d keys, %d lookups, best of %d rounds (ns/lookup)%n", n, LOOKUPS, rounds);
+        System.out.printf("%-20s", "table");
+        for (int hits : HIT_PERCENTS) System.out.printf(" %9s", hits + "% hits");
+        System.out.println();
+        run("ClosedHashTable", ClosedHashTable::new, present, absent, rounds);
+        run("CuckooHashTable", CuckooHashTable::new, present, absent, rounds);
+        if (sink == 42) System.out.println();
+    }
+
+    /**
+     * Builds n distinct keys shaped like the names used in the commands.
+     */
+    private static CaseInsensitiveString[] keys(String prefix, int n) {
+        CaseInsensitiveString[] keys = new CaseInsensitiveString[n];
+        for (int i = 0; i < n; i++)
+            keys[i] = new CaseInsensitiveString(prefix + Integer.toString(i * 7919 + 13, 36));
+        return keys;
+    }
+
+    /**
+     * Draws the keys of a workload with the given percentage of hits.
+     */
+    private static CaseInsensitiveString[] workload(CaseInsensitiveString[] present, CaseInsensitiveString[] absent,
+                                                    int hitPercent) {
+        Random random = new Random(hitPercent);
+        CaseInsensitiveString[] lookups = new CaseInsensitiveString[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            CaseInsensitiveString[] source = random.nextInt(100) < hitPercent ? present : absent;
+            lookups[i] = source[random.nextInt(source.length)];
+        }
+        return lookups;
+    }
+
+    /**
+     * Measures one implementation and prints its best time per workload.
+     */
+    private static void run(String name, IntFunction<Map<CaseInsensitiveString, Integer>> factory,
+                            CaseInsensitiveString[] present, CaseInsensitiveString[] absent, int rounds) {
+        Map<CaseInsensitiveString, Integer> map = factory.apply(present.length);
+        for (int i = 0; i < present.length; i++) map.put(present[i], i);
+
+        System.out.printf("%-20s", name);
+        for (int hitPercent : HIT_PERCENTS) {
+            CaseInsensitiveString[] lookups = workload(present, absent, hitPercent);
+            long best = Long.MAX_VALUE;
+            for (int r = 0; r < WARMUP_ROUNDS + rounds; r++) {
+                long start = System.nanoTime();
+                for (CaseInsensitiveString key : lookups) if (map.get(key) != null) sink++;
+                long time = System.nanoTime() - start;
+                if (r >= WARMUP_ROUNDS) best = Math.min(best, time);
+            }
+            System.out.printf(" %9.1f", (double) best / LOOKUPS);
+        }
+        System.out.println();
+    }
+}
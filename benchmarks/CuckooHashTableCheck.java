@@ -0,0 +1,124 @@
+package benchmarks;
+
+import dataStructures.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Random;
+
+/**
+ * Runnable check of CuckooHashTable against java.util.HashMap.
+ * Random puts, gets and removes run on keys whose hash codes are drawn from
+ * a few thousand, a few hundred and only 17 values. The more keys share a
+ * hash code, the more insertions end in eviction cycles, so the stash
+ * overflows and the tables are rebuilt with new seeds. With 17 hash codes
+ * at most two keys per code fit in the tables, so the stash has to grow
+ * past its initial size, which the check confirms through the table's
+ * statistics. After each workload the table goes through a serialization
+ * round trip, whose readObject places every entry again and rebuilds when
+ * a placement fails; with 17 hash codes the loaded stash must have grown
+ * again. Any difference with the reference throws an IllegalStateException.
+ *
+ * Usage: java benchmarks.CuckooHashTableCheck [operations]
+ */
+public class CuckooHashTableCheck {
+
+    private static final int DEFAULT_OPERATIONS = 200_000;
+
+    /** Key with a chosen hash code, so that many keys can collide */
+    private record CollidingKey(int id, int hash) implements Serializable {
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    public static void main(String[] args) throws IOException, ClassNotFoundException {
+        int operations = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_OPERATIONS;
+        int[] hashCodes = {Integer.MAX_VALUE, 5000, 300, 17};
+        for (int distinct : hashCodes) {
+            run(distinct, distinct == 17 ? 600 : 20_000, operations, new Random(distinct));
+        }
+        System.out.println("cuckoo hash table ok");
+    }
+
+    /**
+     * Runs one workload over keys 0..keyRange-1 whose hash codes take the given
+     * number of distinct values.
+     */
+    private static void run(int distinct, int keyRange, int operations, Random random)
+            throws IOException, ClassNotFoundException {
+        CuckooHashTable<CollidingKey, Integer> table = new CuckooHashTable<>();
+        table.setStatisticsEnabled(true);
+        HashMap<CollidingKey, Integer> reference = new HashMap<>();
+        int maxStash = 0;
+        for (int op = 0; op < operations; op++) {
+            int id = random.nextInt(keyRange);
+            CollidingKey key = new CollidingKey(id, distinct == Integer.MAX_VALUE ? id * 0x9E3779B9 : id % distinct);
+            int choice = random.nextInt(10);
+            if (choice < 5) {
+                check(table.put(key, op), reference.put(key, op), "put");
+            } else if (choice < 8) {
+                check(table.get(key), reference.get(key), "get");
+            } else {
+                check(table.remove(key), reference.remove(key), "remove");
+            }
+            if (table.size() != reference.size()) throw new IllegalStateException("size");
+            if (op % 1000 == 0) maxStash = Math.max(maxStash, table.getStatistics().lengthHistogram()[2]);
+        }
+        checkContents(table, reference);
+
+        // the stash holds 4 keys at first, so a larger one must have doubled
+        if (distinct == 17 && maxStash <= 4) throw new IllegalStateException("stash never grew");
+
+        CuckooHashTable<CollidingKey, Integer> copy = roundTrip(table);
+        checkContents(copy, reference);
+        // a loaded table starts with the initial stash, so readObject must have rebuilt it
+        copy.setStatisticsEnabled(true);
+        if (distinct == 17 && copy.getStatistics().lengthHistogram()[2] <= 4)
+            throw new IllegalStateException("stash not rebuilt on load");
+        for (CollidingKey key : reference.keySet()) check(copy.remove(key), reference.get(key), "remove after load");
+        if (!copy.isEmpty()) throw new IllegalStateException("not empty after removing every key");
+
+        System.out.printf("%d hash codes: %d entries, at most %d in the stash%n",
+                Math.min(distinct, keyRange), reference.size(), maxStash);
+    }
+
+    private static void check(Integer actual, Integer expected, String operation) {
+        if (actual == null ? expected != null : !actual.equals(expected))
+            throw new IllegalStateException(operation + ": " + actual + " instead of " + expected);
+    }
+
+    /**
+     * Checks that the table holds exactly the entries of the reference, by lookup and by iteration.
+     */
+    private static void checkContents(CuckooHashTable<CollidingKey, Integer> table,
+                                      HashMap<CollidingKey, Integer> reference) {
+        if (table.size() != reference.size()) throw new IllegalStateException("size");
+        for (java.util.Map.Entry<CollidingKey, Integer> e : reference.entrySet())
+            check(table.get(e.getKey()), e.getValue(), "get");
+        HashMap<CollidingKey, Integer> seen = new HashMap<>();
+        Iterator<Map.Entry<CollidingKey, Integer>> it = table.iterator();
+        while (it.hasNext()) {
+            Map.Entry<CollidingKey, Integer> e = it.next();
+            if (seen.put(e.key(), e.value()) != null) throw new IllegalStateException("key iterated twice");
+        }
+        if (!seen.equals(reference)) throw new IllegalStateException("iteration");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T roundTrip(T object) throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (T) in.readObject();
+        }
+    }
+}
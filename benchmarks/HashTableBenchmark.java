@@ -0,0 +1,115 @@
+package benchmarks;
+
+import dataStructures.*;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * Micro benchmark of the hash table implementations on student-like String keys.
+ * Each round inserts n keys, looks all of them up, looks up n absent keys,
+ * removes half of the keys and then churns: each step inserts a new key,
+ * removes an old one and looks up an absent one, so the size stays constant
+ * while removals pile up. The slowest single put is reported too, as it shows
+ * the cost of growing the table. The best time of several rounds is reported, after
+ * a few warm-up rounds so the JIT compiles the code being measured.
+ *
+ * Usage: java benchmarks.HashTableBenchmark [n] [rounds]
+ */
+public class HashTableBenchmark {
+
+    private static final int DEFAULT_KEYS = 200_000;
+    private static final int DEFAULT_ROUNDS = 7;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int INITIAL_CAPACITY = 50;
+
+    /** Prevents the JIT from discarding the lookups */
+    private static long sink;
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_KEYS;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+
+        String[] present = keys("Student ", n);
+        String[] absent = keys("Visitor ", n);
+        String[] churn = keys("Guest ", n);
+
+        System.out.printf("%d keys, best of %d rounds (ms)%n", n, rounds);
+        System.out.printf("%-32s %9s %9s %9s %9s %9s %9s%n", "table", "put", "get hit", "get miss", "remove", "churn",
+                "max put");
+        run("SepChainHashTable", SepChainHashTable::new, present, absent, churn, rounds);
+        run("SepChainHashTable incremental", c -> new SepChainHashTable<>(c, true), present, absent, churn, rounds);
+        run("ClosedHashTable", ClosedHashTable::new, present, absent, churn, rounds);
+        run("ClosedHashTable incremental", c -> new ClosedHashTable<>(c, true), present, absent, churn, rounds);
+        run("OpenAddressingHashTable", OpenAddressingHashTable::new, present, absent, churn, rounds);
+        run("PowerOfTwoHashTable", PowerOfTwoHashTable::new, present, absent, churn, rounds);
+        run("CuckooHashTable", CuckooHashTable::new, present, absent, churn, rounds);
+        if (sink == 42) System.out.println();
+    }
+
+    /**
+     * Builds n distinct keys shaped like the names used in the commands.
+     */
+    private static String[] keys(String prefix, int n) {
+        String[] keys = new String[n];
+        for (int i = 0; i < n; i++)
+            keys[i] = prefix + Integer.toString(i * 7919 + 13, 36);
+        return keys;
+    }
+
+    /**
+     * Measures one implementation and prints its best times.
+     */
+    private static void run(String name, IntFunction<Map<String, Integer>> factory,
+                            String[] present, String[] absent, String[] churn, int rounds) {
+        long[] best = new long[6];
+        Arrays.fill(best, Long.MAX_VALUE);
+        for (int r = 0; r < WARMUP_ROUNDS + rounds; r++) {
+            long[] times = round(factory.apply(INITIAL_CAPACITY), present, absent, churn);
+            if (r < WARMUP_ROUNDS) continue;
+            for (int i = 0; i < best.length; i++) best[i] = Math.min(best[i], times[i]);
+        }
+        System.out.printf("%-32s %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f%n", name,
+                best[0] / 1e6, best[1] / 1e6, best[2] / 1e6, best[3] / 1e6, best[4] / 1e6, best[5] / 1e6);
+    }
+
+    /**
+     * Runs one round over an empty map and returns the time of each phase in nanoseconds.
+     */
+    private static long[] round(Map<String, Integer> map, String[] present, String[] absent,
+                                String[] churn) {
+        long[] times = new long[6];
+
+        long start = System.nanoTime();
+        for (int i = 0; i < present.length; i++) {
+            long before = System.nanoTime();
+            map.put(present[i], i);
+            times[5] = Math.max(times[5], System.nanoTime() - before);
+        }
+        times[0] = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (String key : present) sink += map.get(key);
+        times[1] = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (String key : absent) if (map.get(key) == null) sink++;
+        times[2] = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < present.length; i += 2) map.remove(present[i]);
+        times[3] = System.nanoTime() - start;
+
+        if (map.size() != present.length - (present.length + 1) / 2) throw new IllegalStateException("wrong size");
+
+        start = System.nanoTime();
+        for (int i = 0, old = 1; old < present.length; i++, old += 2) {
+            map.put(churn[i], i);
+            map.remove(present[old]);
+            if (map.get(absent[i]) == null) sink++;
+        }
+        times[4] = System.nanoTime() - start;
+
+        return times;
+    }
+}
@@ -0,0 +1,134 @@
+package benchmarks;
+
+import dataStructures.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Micro benchmark of the sorted map implementations on the case-insensitive
+ * name keys of the alphabetical student index.
+ * Each round inserts n keys in random order, updates all of them, looks all
+ * of them up, iterates over the whole map and then removes every key, in
+ * another random order. The best time of several rounds is reported, after a
+ * few warm-up rounds so the JIT compiles the code being measured. The heap
+ * retained by a map holding the n keys (not counting the keys and values
+ * themselves) is reported too.
+ *
+ * Usage: java benchmarks.SortedMapBenchmark [n] [rounds]
+ */
+public class SortedMapBenchmark {
+
+    private static final int DEFAULT_KEYS = 200_000;
+    private static final int DEFAULT_ROUNDS = 7;
+    private static final int WARMUP_ROUNDS = 3;
+
+    /** Prevents the JIT from discarding the lookups */
+    private static long sink;
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_KEYS;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+
+        CaseInsensitiveString[] insertOrder = keys(n);
+        CaseInsensitiveString[] removeOrder = insertOrder.clone();
+        shuffle(insertOrder, new Random(1));
+        shuffle(removeOrder, new Random(2));
+
+        System.out.printf("%d keys, best of %d rounds (ms)%n", n, rounds);
+        System.out.printf("%-20s %9s %9s %9s %9s %9s %9s%n", "map", "insert", "update", "get", "iterate", "remove",
+                "heap MB");
+        run("AVLSortedMap", AVLSortedMap::new, insertOrder, removeOrder, rounds);
+        run("ArrayAVLSortedMap", ArrayAVLSortedMap::new, insertOrder, removeOrder, rounds);
+        run("RedBlackSortedMap", RedBlackSortedMap::new, insertOrder, removeOrder, rounds);
+        run("BPlusTreeSortedMap", BPlusTreeSortedMap::new, insertOrder, removeOrder, rounds);
+        if (sink == 42) System.out.println();
+    }
+
+    /**
+     * Builds n distinct keys shaped like the names used in the commands.
+     */
+    private static CaseInsensitiveString[] keys(int n) {
+        CaseInsensitiveString[] keys = new CaseInsensitiveString[n];
+        for (int i = 0; i < n; i++)
+            keys[i] = new CaseInsensitiveString("Student " + Integer.toString(i * 7919 + 13, 36));
+        return keys;
+    }
+
+    private static void shuffle(CaseInsensitiveString[] keys, Random random) {
+        for (int i = keys.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            CaseInsensitiveString tmp = keys[i];
+            keys[i] = keys[j];
+            keys[j] = tmp;
+        }
+    }
+
+    /**
+     * Measures one implementation and prints its best times.
+     */
+    private static void run(String name, Supplier<SortedMap<CaseInsensitiveString, Integer>> factory,
+                            CaseInsensitiveString[] insertOrder, CaseInsensitiveString[] removeOrder, int rounds) {
+        long[] best = new long[5];
+        Arrays.fill(best, Long.MAX_VALUE);
+        for (int r = 0; r < WARMUP_ROUNDS + rounds; r++) {
+            long[] times = round(factory.get(), insertOrder, removeOrder);
+            if (r < WARMUP_ROUNDS) continue;
+            for (int i = 0; i < best.length; i++) best[i] = Math.min(best[i], times[i]);
+        }
+        System.out.printf("%-20s %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f%n", name,
+                best[0] / 1e6, best[1] / 1e6, best[2] / 1e6, best[3] / 1e6, best[4] / 1e6,
+                heapUse(factory, insertOrder) / 1e6);
+    }
+
+    /**
+     * Returns the heap in bytes retained by a map holding the given keys, all
+     * with the same value, measured around garbage collections.
+     */
+    private static long heapUse(Supplier<SortedMap<CaseInsensitiveString, Integer>> factory,
+                                CaseInsensitiveString[] keys) {
+        Runtime runtime = Runtime.getRuntime();
+        Integer value = 0;
+        System.gc();
+        long before = runtime.totalMemory() - runtime.freeMemory();
+        SortedMap<CaseInsensitiveString, Integer> map = factory.get();
+        for (CaseInsensitiveString key : keys) map.put(key, value);
+        System.gc();
+        long after = runtime.totalMemory() - runtime.freeMemory();
+        if (map.size() != keys.length) throw new IllegalStateException("wrong size");
+        return after - before;
+    }
+
+    /**
+     * Runs one round over an empty map and returns the time of each phase in nanoseconds.
+     */
+    private static long[] round(SortedMap<CaseInsensitiveString, Integer> map, CaseInsensitiveString[] insertOrder,
+                                CaseInsensitiveString[] removeOrder) {
+        long[] times = new long[5];
+
+        long start = System.nanoTime();
+        for (int i = 0; i < insertOrder.length; i++) map.put(insertOrder[i], i);
+        times[0] = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < insertOrder.length; i++) map.put(insertOrder[i], -i);
+        times[1] = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (CaseInsensitiveString key : removeOrder) sink += map.get(key);
+        times[2] = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        Iterator<Map.Entry<CaseInsensitiveString, Integer>> it = map.iterator();
+        while (it.hasNext()) sink += it.next().value();
+        times[3] = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (CaseInsensitiveString key : removeOrder) map.remove(key);
+        times[4] = System.nanoTime() - start;
+
+        if (!map.isEmpty()) throw new IllegalStateException("map not empty");
+        return times;
+    }
+}
@@ -0,0 +1,143 @@
+package benchmarks;
+
+import dataStructures.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Stress test of StripedHashTable under concurrent updates.
+ * Each round, several writer threads put and remove random keys of their own
+ * (key i belongs to writer i % writers), so every writer can replay its
+ * operations on a private java.util.HashMap. The keys of all writers are
+ * spread over every segment, so writers do contend for the segment locks.
+ * Meanwhile a reader looks up random keys and an iterator thread walks the
+ * whole table again and again. Each value records the key it was stored
+ * under, so both can tell a torn or misplaced entry, and the iterator also
+ * checks that no key comes twice in one pass. At the end of the round, the
+ * table must hold exactly the union of the writers' references, by size,
+ * by lookup and by iteration. Any failure throws an IllegalStateException.
+ *
+ * Usage: java benchmarks.StripedHashTableStress [writers] [operations per writer] [rounds]
+ */
+public class StripedHashTableStress {
+
+    private static final int DEFAULT_WRITERS = 6;
+    private static final int DEFAULT_OPERATIONS = 200_000;
+    private static final int DEFAULT_ROUNDS = 5;
+    private static final int KEYS = 50_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        int writers = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_WRITERS;
+        int operations = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_OPERATIONS;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_ROUNDS;
+
+        String[] keys = new String[KEYS];
+        HashMap<String, Integer> idOf = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = "Student " + Integer.toString(i * 7919 + 13, 36);
+            idOf.put(keys[i], i);
+        }
+
+        for (int round = 0; round < rounds; round++) {
+            int passes = round(keys, idOf, writers, operations, round);
+            System.out.printf("round %d: %d writers, %d operations each, %d concurrent iterations%n",
+                    round, writers, operations, passes);
+        }
+        System.out.println("striped hash table ok");
+    }
+
+    /**
+     * Runs one round and returns the number of complete passes of the iterator thread.
+     */
+    private static int round(String[] keys, HashMap<String, Integer> idOf, int writers, int operations, int round)
+            throws InterruptedException {
+        // a small initial capacity, so the segments grow while being used
+        StripedHashTable<String, Long> table = new StripedHashTable<>(16);
+        List<HashMap<String, Long>> references = new ArrayList<>();
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        int[] passes = new int[1];
+
+        List<Thread> threads = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            HashMap<String, Long> reference = new HashMap<>();
+            references.add(reference);
+            int writer = w;
+            threads.add(new Thread(() -> {
+                Random random = new Random(round * 1000L + writer);
+                for (int op = 0; op < operations; op++) {
+                    int id = random.nextInt(KEYS / writers) * writers + writer;
+                    if (id >= KEYS) continue;
+                    String key = keys[id];
+                    if (random.nextInt(4) > 0) {
+                        long value = (long) id << 32 | op;
+                        if (!same(table.put(key, value), reference.put(key, value))) fail("put " + key);
+                    } else if (!same(table.remove(key), reference.remove(key))) {
+                        fail("remove " + key);
+                    }
+                }
+            }));
+        }
+
+        Thread reader = new Thread(() -> {
+            Random random = new Random(round);
+            while (writing.get()) {
+                int id = random.nextInt(KEYS);
+                Long value = table.get(keys[id]);
+                if (value != null && value >>> 32 != id) fail("get " + keys[id] + " returned a value of another key");
+            }
+        });
+        Thread iterator = new Thread(() -> {
+            while (writing.get()) {
+                HashSet<String> seen = new HashSet<>();
+                Iterator<Map.Entry<String, Long>> it = table.iterator();
+                while (it.hasNext()) {
+                    Map.Entry<String, Long> entry = it.next();
+                    if (!seen.add(entry.key())) fail(entry.key() + " iterated twice");
+                    if (entry.value() >>> 32 != idOf.get(entry.key())) fail(entry.key() + " iterated with another key's value");
+                }
+                passes[0]++;
+            }
+        });
+
+        for (Thread t : threads) t.setUncaughtExceptionHandler((th, e) -> failure.compareAndSet(null, e));
+        reader.setUncaughtExceptionHandler((th, e) -> failure.compareAndSet(null, e));
+        iterator.setUncaughtExceptionHandler((th, e) -> failure.compareAndSet(null, e));
+        reader.start();
+        iterator.start();
+        for (Thread t : threads) t.start();
+        for (Thread t : threads) t.join();
+        writing.set(false);
+        reader.join();
+        iterator.join();
+        if (failure.get() != null) throw new IllegalStateException("round " + round, failure.get());
+
+        HashMap<String, Long> expected = new HashMap<>();
+        for (HashMap<String, Long> reference : references) expected.putAll(reference);
+        if (table.size() != expected.size()) throw new IllegalStateException("size " + table.size() + " instead of " + expected.size());
+        for (java.util.Map.Entry<String, Long> e : expected.entrySet())
+            if (!same(table.get(e.getKey()), e.getValue())) fail("get " + e.getKey() + " after the round");
+        HashMap<String, Long> iterated = new HashMap<>();
+        Iterator<Map.Entry<String, Long>> it = table.iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Long> entry = it.next();
+            iterated.put(entry.key(), entry.value());
+        }
+        if (!iterated.equals(expected)) fail("iteration after the round");
+        return passes[0];
+    }
+
+    private static boolean same(Long a, Long b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    private static void fail(String message) {
+        throw new IllegalStateException(message);
+    }
+}
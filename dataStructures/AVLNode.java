@@ -10,9 +10,13 @@ class AVLNode<E> extends BTNode<E> {
     // Height of the node
     protected int height;
 
+    // Number of nodes in the subtree rooted at this node
+    protected int size;
+
     public AVLNode(E elem) {
         super(elem);
         height = 0;
+        size = 1;
     }
 
     public AVLNode(E element, AVLNode<E> parent,
@@ -21,11 +25,13 @@ class AVLNode<E> extends BTNode<E> {
         int leftH = height(left);
         int rightH = height(right);
         this.height = 1 + Math.max(leftH, rightH);
+        this.size = 1 + size(left) + size(right);
     }
 
     public AVLNode(E element, AVLNode<E> parent) {
         super(element, parent, null, null);
         height = 0;
+        size = 1;
     }
 
     /**
@@ -39,6 +45,26 @@ class AVLNode<E> extends BTNode<E> {
         return no.getHeight();
     }
 
+    /**
+     * Computes the size of the subtree rooted at a given node.
+     * @param no the node whose subtree size is requested
+     * Time complexity: O(1)
+     * @return number of nodes of the subtree, 0 if null
+     */
+    static int size(AVLNode<?> no) {
+        if (no == null) return 0;
+        return no.size;
+    }
+
+    /**
+     * Returns the number of nodes in the subtree rooted at this node.
+     * Time complexity: O(1)
+     * @return size of the subtree
+     */
+    public int getSize() {
+        return size;
+    }
+
     /**
      * Returns the height of this node.
      * Time complexity: O(1)
@@ -49,7 +75,7 @@ class AVLNode<E> extends BTNode<E> {
     }
 
     /**
-     * Update the left child and height
+     * Update the left child, height and size
      * @param node new left child
      * Time complexity: O(1)
      */
@@ -60,7 +86,7 @@ class AVLNode<E> extends BTNode<E> {
     }
 
     /**
-     * Update the right child and height
+     * Update the right child, height and size
      * @param node new right child
      * Time complexity: O(1)
      */
@@ -71,7 +97,7 @@ class AVLNode<E> extends BTNode<E> {
     }
 
     /**
-     * Recomputes this node height from its children.
+     * Recomputes this node height and subtree size from its children.
      * Time complexity: O(1)
      */
     public void updateHeight() {
@@ -80,6 +106,7 @@ class AVLNode<E> extends BTNode<E> {
         int leftH = height(left);
         int rightH = height(right);
         this.height = 1 + Math.max(leftH, rightH);
+        this.size = 1 + size(left) + size(right);
     }
 
     /**
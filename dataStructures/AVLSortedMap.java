@@ -1,5 +1,6 @@
 package dataStructures;
 
+import dataStructures.exceptions.InvalidPositionException;
 import dataStructures.exceptions.NoSuchElementException;
 import java.io.Serial;
 import java.io.ObjectInputStream;
@@ -8,19 +9,36 @@ import java.io.IOException;
 
 /**
  * AVL Tree Sorted Map
+ * Every node keeps the size of its subtree, so entries can be found by position.
  * @author AED Team
  * @version 1.0
  * @param <K> Generic Key
  * @param <V> Generic Value
  */
-public class AVLSortedMap<K extends Comparable<K>, V> extends AdvancedBSTree<K, V> {
+public class AVLSortedMap<K extends Comparable<K>, V> extends AdvancedBSTree<K, V>
+        implements IndexedSortedMap<K, V> {
 
     public AVLSortedMap() {
         super();
     }
 
+    /**
+     * Bulk-build constructor: builds a perfectly balanced tree from entries
+     * given in increasing key order, without comparisons or rotations.
+     * @param sortedEntries iterator of the entries, in strictly increasing key order
+     * @param n number of entries to take from the iterator
+     * Time complexity: O(n)
+     */
+    public AVLSortedMap(Iterator<Entry<K, V>> sortedEntries, int n) {
+        super();
+        root = build(sortedEntries, n);
+        currentSize = n;
+    }
+
     /**
      * Insert or update a key-value pair in the map.
+     * A single descent finds the key or the leaf to attach it to; the walk back up
+     * rebalances only while subtree heights change.
      * @param key Key to insert or update
      * @param value Value to insert
      * Time complexity: O(log n)
@@ -28,14 +46,31 @@ public class AVLSortedMap<K extends Comparable<K>, V> extends AdvancedBSTree<K,
      */
     @Override
     public V put(K key, V value) {
-        V old = super.put(key, value);
-        if (old == null) {
-            currentSize++;
+        Entry<K, V> entry = new Entry<>(key, value);
+        BTNode<Entry<K, V>> parent = null;
+        BTNode<Entry<K, V>> node = (BTNode<Entry<K, V>>) root;
+        int cmp = 0;
+        while (node != null) {
+            cmp = key.compareTo(node.getElement().key());
+            if (cmp == 0) {
+                V old = node.getElement().value();
+                node.setElement(entry);
+                return old;
+            }
+            parent = node;
+            node = (BTNode<Entry<K, V>>) (cmp < 0 ? node.getLeftChild() : node.getRightChild());
         }
-        @SuppressWarnings("unchecked")
-        AVLNode<Entry<K, V>> node = (AVLNode<Entry<K, V>>) super.locateNode(root, key);
-        if (node != null) rebalanceUp(node);
-        return old;
+
+        BTNode<Entry<K, V>> leaf = createNode(entry, parent);
+        currentSize++;
+        if (parent == null) {
+            root = leaf;
+            return null;
+        }
+        if (cmp < 0) parent.setLeftChild(leaf);
+        else parent.setRightChild(leaf);
+        rebalanceUp((AVLNode<Entry<K, V>>) parent, 1);
+        return null;
     }
 
     /**
@@ -47,23 +82,119 @@ public class AVLSortedMap<K extends Comparable<K>, V> extends AdvancedBSTree<K,
     @Override
     public V remove(K key) throws NoSuchElementException {
         @SuppressWarnings("unchecked")
-        AVLNode<Entry<K, V>> node = (AVLNode<Entry<K, V>>) super.locateNode(root, key);
+        AVLNode<Entry<K, V>> node = (AVLNode<Entry<K, V>>) super.locateNode((BTNode<Entry<K, V>>) root, key);
         if (node == null) throw new NoSuchElementException();
 
-        @SuppressWarnings("unchecked")
-        AVLNode<Entry<K, V>> parent = (AVLNode<Entry<K, V>>) node.getParent();
-        V old = super.remove(key);
-        if (parent != null) rebalanceUp(parent);
-        else if (root != null) rebalanceUp((AVLNode<Entry<K, V>>) root);
-        currentSize--;
+        // lowest node whose subtree changes: the parent of the node that is unlinked
+        // (the successor's old parent, or the successor itself, when there are two children)
+        AVLNode<Entry<K, V>> start;
+        if (node.getLeftChild() != null && node.getRightChild() != null) {
+            AVLNode<Entry<K, V>> succ = (AVLNode<Entry<K, V>>) furtherLeftElement((BTNode<Entry<K, V>>) node.getRightChild());
+            start = (AVLNode<Entry<K, V>>) (succ.getParent() == node ? succ : succ.getParent());
+            // the successor takes the place of the node, so it starts with the node's height and size
+            succ.height = node.height;
+            succ.size = node.size;
+        } else {
+            start = (AVLNode<Entry<K, V>>) node.getParent();
+        }
+        V old = node.getElement().value();
+        removeNode(node);
+        if (start != null) rebalanceUp(start, -1);
         return old;
     }
 
+    /**
+     * Returns the node at the given position in key order.
+     * @param index position of the node, from 0
+     * @pre 0 <= index < size()
+     * Time complexity: O(log n)
+     * @return node with index smaller keys
+     */
+    private AVLNode<Entry<K, V>> selectNode(int index) {
+        AVLNode<Entry<K, V>> node = (AVLNode<Entry<K, V>>) root;
+        while (true) {
+            int leftSize = AVLNode.size((AVLNode<Entry<K, V>>) node.getLeftChild());
+            if (index < leftSize) {
+                node = (AVLNode<Entry<K, V>>) node.getLeftChild();
+            } else if (index == leftSize) {
+                return node;
+            } else {
+                index -= leftSize + 1;
+                node = (AVLNode<Entry<K, V>>) node.getRightChild();
+            }
+        }
+    }
+
+    /**
+     * Returns the entry at the given position in key order.
+     * @param index position of the entry, from 0
+     * @throws InvalidPositionException if index < 0 or index >= size()
+     * Time complexity: O(log n)
+     * @return entry with index smaller keys
+     */
+    @Override
+    public Entry<K, V> select(int index) {
+        if (index < 0 || index >= currentSize) throw new InvalidPositionException();
+        return selectNode(index).getElement();
+    }
+
+    /**
+     * Returns the number of keys smaller than the given one.
+     * @param key key to rank
+     * Time complexity: O(log n)
+     * @return position of the key, or where it would be inserted
+     */
+    @Override
+    public int rank(K key) {
+        int rank = 0;
+        AVLNode<Entry<K, V>> node = (AVLNode<Entry<K, V>>) root;
+        while (node != null) {
+            int cmp = key.compareTo(node.getElement().key());
+            if (cmp < 0) {
+                node = (AVLNode<Entry<K, V>>) node.getLeftChild();
+            } else {
+                rank += AVLNode.size((AVLNode<Entry<K, V>>) node.getLeftChild());
+                if (cmp == 0) return rank;
+                rank++;
+                node = (AVLNode<Entry<K, V>>) node.getRightChild();
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Returns an iterator of the entries from the given position on,
+     * starting at the selected node instead of the minimum.
+     * @param index position of the first entry, from 0
+     * @throws InvalidPositionException if index < 0 or index > size()
+     * Time complexity: O(log n) to create, O(1) amortized per entry
+     * @return iterator of the entries from position index on
+     */
+    @Override
+    public Iterator<Entry<K, V>> iterator(int index) {
+        if (index < 0 || index > currentSize) throw new InvalidPositionException();
+        if (index == currentSize) return new InOrderIterator<>(null);
+        return new InOrderIterator<>((BTNode<Entry<K, V>>) root, selectNode(index));
+    }
+
+    /**
+     * Returns an iterator of the values from the given position on.
+     * @param index position of the first value, from 0
+     * @throws InvalidPositionException if index < 0 or index > size()
+     * Time complexity: O(log n) to create, O(1) amortized per value
+     * @return iterator of the values from position index on
+     */
+    @Override
+    @SuppressWarnings({"unchecked","rawtypes"})
+    public Iterator<V> values(int index) {
+        return new ValuesIterator(iterator(index));
+    }
+
     /**
      * Returns the child of a node with greater height.
      * @param n parent node
      * Time complexity: O(1)
-     * @return left or right child, whichever is taller
+     * @return left or right child, whichever is taller (on a tie, the one on the same side as n)
      */
     private AVLNode<Entry<K, V>> tallerChild(AVLNode<Entry<K, V>> n) {
         AVLNode<Entry<K, V>> left = (AVLNode<Entry<K, V>>) n.getLeftChild();
@@ -71,35 +202,42 @@ public class AVLSortedMap<K extends Comparable<K>, V> extends AdvancedBSTree<K,
         if (left == null && right == null) return n;
         if (left == null) return right;
         if (right == null) return left;
-        return (left.getHeight() >= right.getHeight()) ? left : right;
+        if (left.getHeight() != right.getHeight()) return (left.getHeight() > right.getHeight()) ? left : right;
+        // on a tie (only after a removal) stay on the side of n, so the restructure is a single rotation
+        BTNode<Entry<K, V>> parent = (BTNode<Entry<K, V>>) n.getParent();
+        return (parent == null || parent.getLeftChild() == n) ? left : right;
     }
 
     /**
-     * Walk upward from a node, updating heights and restoring AVL balance when needed.
+     * Walk upward from the lowest node whose subtree changed, updating heights and
+     * subtree sizes and restoring AVL balance, until a subtree keeps its height.
+     * Above it only the subtree sizes change.
      * @param node starting point for rebalancing
+     * @param sizeChange change in the number of nodes below node (1 or -1)
      * Time complexity: O(log n)
      */
-    private void rebalanceUp(AVLNode<Entry<K, V>> node) {
+    private void rebalanceUp(AVLNode<Entry<K, V>> node, int sizeChange) {
         AVLNode<Entry<K, V>> cur = node;
         while (cur != null) {
+            int oldHeight = cur.getHeight();
             cur.updateHeight();
-            int bf = cur.getBalanceFactor();
-            if (Math.abs(bf) > 1) {
+            AVLNode<Entry<K, V>> top = cur;
+            if (Math.abs(cur.getBalanceFactor()) > 1) {
                 AVLNode<Entry<K, V>> y = tallerChild(cur);
                 AVLNode<Entry<K, V>> x = tallerChild(y);
-                AVLNode<Entry<K, V>> newRoot = (AVLNode<Entry<K, V>>) restructure(x);
+                top = (AVLNode<Entry<K, V>>) restructure(x);
 
-                AVLNode<Entry<K, V>> left = (AVLNode<Entry<K, V>>) newRoot.getLeftChild();
-                AVLNode<Entry<K, V>> right = (AVLNode<Entry<K, V>>) newRoot.getRightChild();
+                AVLNode<Entry<K, V>> left = (AVLNode<Entry<K, V>>) top.getLeftChild();
+                AVLNode<Entry<K, V>> right = (AVLNode<Entry<K, V>>) top.getRightChild();
                 if (left != null) left.updateHeight();
                 if (right != null) right.updateHeight();
-                newRoot.updateHeight();
-
-                cur = (AVLNode<Entry<K, V>>) newRoot.getParent();
-            } else {
-                cur = (AVLNode<Entry<K, V>>) cur.getParent();
+                top.updateHeight();
             }
+            cur = (AVLNode<Entry<K, V>>) top.getParent();
+            if (top.getHeight() == oldHeight) break;
         }
+        for (; cur != null; cur = (AVLNode<Entry<K, V>>) cur.getParent())
+            cur.size += sizeChange;
     }
 
     /**
@@ -115,39 +253,20 @@ public class AVLSortedMap<K extends Comparable<K>, V> extends AdvancedBSTree<K,
     }
 
     /**
-     * Writes all entries of the subtree rooted at node in-order.
-     * @param out output stream
-     * @param node root of subtree
-     * @throws IOException if writing fails
+     * Builds a perfectly balanced tree from the next n entries of an iterator,
+     * the middle entry at the root, with heights and sizes set as the nodes are created.
+     * @param sortedEntries iterator of the entries, in increasing key order
+     * @param n number of entries to take from the iterator
      * Time complexity: O(n)
+     * @return root of the new tree, null if n is 0
      */
-    private void writeEntries(ObjectOutputStream out, BTNode<Map.Entry<K, V>> node) throws IOException {
-        if (node == null) return;
-        writeEntries(out, (BTNode<Entry<K, V>>) node.getLeftChild());
-        Map.Entry<K, V> e = node.getElement();
-        out.writeObject(e.key());
-        out.writeObject(e.value());
-        writeEntries(out, (BTNode<Map.Entry<K, V>>) node.getRightChild());
-    }
-
-    /**
-     * Reads n entries from a stream and inserts them into the AVL.
-     * @param in input stream
-     * @param n number of entries to read
-     * @throws IOException
-     * @throws ClassNotFoundException
-     * Time complexity: O(n log n)
-     */
-    private void readEntries(ObjectInputStream in, int n) throws IOException, ClassNotFoundException {
-        K key;
-        V value;
-        root = null;
-        currentSize = 0;
-        for (int i = 0; i < n; i++) {
-            key = (K) in.readObject();
-            value = (V) in.readObject();
-            put(key, value);
-        }
+    private AVLNode<Entry<K, V>> build(Iterator<Entry<K, V>> sortedEntries, int n) {
+        if (n == 0) return null;
+        int leftSize = (n - 1) / 2;
+        AVLNode<Entry<K, V>> left = build(sortedEntries, leftSize);
+        Entry<K, V> entry = sortedEntries.next();
+        AVLNode<Entry<K, V>> right = build(sortedEntries, n - 1 - leftSize);
+        return new AVLNode<>(entry, null, left, right);
     }
 
     /**
@@ -170,16 +289,18 @@ public class AVLSortedMap<K extends Comparable<K>, V> extends AdvancedBSTree<K,
     }
 
     /**
-     * Custom deserialization: rebuilds the AVL tree from serialized entries.
+     * Custom deserialization: bulk-builds the AVL tree from the serialized
+     * entries, which writeObject streams in key order.
      * @param in input stream
      * @throws IOException
      * @throws ClassNotFoundException
-     * Time complexity: O(n log n)
+     * Time complexity: O(n)
      */
     @Serial
     private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
         in.defaultReadObject();
         int n = in.readInt();
-        readEntries(in, n);
+        root = build(readEntries(in, n), n);
+        currentSize = n;
     }
 }
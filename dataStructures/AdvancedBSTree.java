@@ -1,5 +1,9 @@
 package dataStructures;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
 /**
  * Advanced Binary Search Tree
  * @author AED Team
@@ -134,4 +138,40 @@ abstract class AdvancedBSTree <K extends Comparable<K>,V> extends BSTSortedMap<K
         return null;
     }
 
+    /**
+     * Writes all entries of the subtree rooted at node in-order.
+     * @param out output stream
+     * @param node root of subtree
+     * @throws IOException if writing fails
+     * Time complexity: O(n)
+     */
+    protected void writeEntries(ObjectOutputStream out, BTNode<Entry<K, V>> node) throws IOException {
+        if (node == null) return;
+        writeEntries(out, (BTNode<Entry<K, V>>) node.getLeftChild());
+        Entry<K, V> e = node.getElement();
+        out.writeObject(e.key());
+        out.writeObject(e.value());
+        writeEntries(out, (BTNode<Entry<K, V>>) node.getRightChild());
+    }
+
+    /**
+     * Reads n entries written by writeEntries from a stream.
+     * @param in input stream
+     * @param n number of entries to read
+     * @throws IOException
+     * @throws ClassNotFoundException
+     * Time complexity: O(n)
+     * @return iterator of the entries, in the order they were written
+     */
+    @SuppressWarnings("unchecked")
+    protected Iterator<Entry<K, V>> readEntries(ObjectInputStream in, int n) throws IOException, ClassNotFoundException {
+        Entry<K, V>[] entries = (Entry<K, V>[]) new Entry[n];
+        for (int i = 0; i < n; i++) {
+            K key = (K) in.readObject();
+            V value = (V) in.readObject();
+            entries[i] = new Entry<>(key, value);
+        }
+        return new ArrayIterator<>(entries, n);
+    }
+
 }
@@ -0,0 +1,768 @@
+package dataStructures;
+
+import dataStructures.exceptions.*;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+
+/**
+ * Array-backed AVL Tree Sorted Map
+ * AVL tree whose nodes are slots of parallel arrays instead of objects: the
+ * key, value, children, parent, height and subtree size of a node are found at
+ * its index, and links are indices (NIL for none). This saves the node and
+ * entry objects of AVLSortedMap and keeps the tree in a few contiguous arrays.
+ * Slots of removed nodes are kept in a free list, linked through the left
+ * array, and reused before the arrays grow.
+ * Entries are created when iterated or returned, so they are snapshots.
+ *
+ * @param <K> Generic Key
+ * @param <V> Generic Value
+ */
+public class ArrayAVLSortedMap<K extends Comparable<K>, V> implements IndexedSortedMap<K, V> {
+
+    private static final long serialVersionUID = 0L;
+
+    /** Default number of slots */
+    static final int DEFAULT_CAPACITY = 16;
+
+    /** Index meaning "no node" */
+    private static final int NIL = -1;
+
+    /** Keys and values of the nodes */
+    private transient K[] keys;
+    private transient V[] values;
+
+    /** Children and parent of the nodes; left also links the free slots */
+    private transient int[] left;
+    private transient int[] right;
+    private transient int[] parent;
+
+    /** Height of the nodes (1 for a leaf) */
+    private transient byte[] height;
+
+    /** Number of nodes in the subtree of each node */
+    private transient int[] size;
+
+    /** Index of the root, NIL if the tree is empty */
+    private transient int root;
+
+    /** First free slot, NIL if none */
+    private transient int free;
+
+    /** Number of slots ever used; the slots from here on are free and not in the free list */
+    private transient int used;
+
+    /** Number of entries */
+    private transient int currentSize;
+
+    /**
+     * Default constructor
+     * Time complexity: O(1)
+     */
+    public ArrayAVLSortedMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor with capacity
+     *
+     * @param capacity initial number of slots
+     * Time complexity: O(capacity)
+     */
+    public ArrayAVLSortedMap(int capacity) {
+        allocate(Math.max(capacity, 1));
+    }
+
+    /**
+     * Bulk-build constructor: builds a perfectly balanced tree from entries
+     * given in increasing key order, without comparisons or rotations.
+     *
+     * @param sortedEntries iterator of the entries, in strictly increasing key order
+     * @param n number of entries to take from the iterator
+     * Time complexity: O(n)
+     */
+    public ArrayAVLSortedMap(Iterator<Entry<K, V>> sortedEntries, int n) {
+        allocate(Math.max(n, DEFAULT_CAPACITY));
+        for (int i = 0; i < n; i++) {
+            Entry<K, V> entry = sortedEntries.next();
+            keys[i] = entry.key();
+            values[i] = entry.value();
+        }
+        buildFromSlots(n);
+    }
+
+    /**
+     * Allocates empty arrays with the given number of slots.
+     * Time complexity: O(capacity)
+     */
+    @SuppressWarnings("unchecked")
+    private void allocate(int capacity) {
+        keys = (K[]) new Comparable[capacity];
+        values = (V[]) new Object[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+        parent = new int[capacity];
+        height = new byte[capacity];
+        size = new int[capacity];
+        root = NIL;
+        free = NIL;
+        used = 0;
+        currentSize = 0;
+    }
+
+    /**
+     * Doubles the number of slots, keeping the nodes at their indices.
+     * Time complexity: O(n)
+     */
+    @SuppressWarnings("unchecked")
+    private void grow() {
+        int capacity = keys.length * 2;
+        K[] newKeys = (K[]) new Comparable[capacity];
+        V[] newValues = (V[]) new Object[capacity];
+        int[] newLeft = new int[capacity];
+        int[] newRight = new int[capacity];
+        int[] newParent = new int[capacity];
+        byte[] newHeight = new byte[capacity];
+        int[] newSize = new int[capacity];
+        for (int i = 0; i < used; i++) {
+            newKeys[i] = keys[i];
+            newValues[i] = values[i];
+            newLeft[i] = left[i];
+            newRight[i] = right[i];
+            newParent[i] = parent[i];
+            newHeight[i] = height[i];
+            newSize[i] = size[i];
+        }
+        keys = newKeys;
+        values = newValues;
+        left = newLeft;
+        right = newRight;
+        parent = newParent;
+        height = newHeight;
+        size = newSize;
+    }
+
+    /**
+     * Takes a slot for a new leaf, from the free list if possible.
+     * Time complexity: O(1) amortized
+     * @return index of the new node
+     */
+    private int newNode(K key, V value, int parentIndex) {
+        int i;
+        if (free != NIL) {
+            i = free;
+            free = left[i];
+        } else {
+            if (used == keys.length) grow();
+            i = used++;
+        }
+        keys[i] = key;
+        values[i] = value;
+        left[i] = NIL;
+        right[i] = NIL;
+        parent[i] = parentIndex;
+        height[i] = 1;
+        size[i] = 1;
+        return i;
+    }
+
+    /**
+     * Returns the slot of a removed node to the free list.
+     * Time complexity: O(1)
+     */
+    private void freeNode(int i) {
+        keys[i] = null;
+        values[i] = null;
+        height[i] = 0;
+        left[i] = free;
+        free = i;
+    }
+
+    /**
+     * Links the balanced tree of the first n slots, which hold the entries in
+     * key order, and makes it the tree of the map.
+     * Time complexity: O(n)
+     */
+    private void buildFromSlots(int n) {
+        root = build(0, n, NIL);
+        used = n;
+        currentSize = n;
+    }
+
+    /**
+     * Links the slots from lo (inclusive) to hi (exclusive) into a perfectly
+     * balanced subtree, the middle slot at its root.
+     * Time complexity: O(hi - lo)
+     * @return root of the subtree, NIL if the range is empty
+     */
+    private int build(int lo, int hi, int parentIndex) {
+        if (lo >= hi) return NIL;
+        int mid = lo + (hi - lo - 1) / 2;
+        parent[mid] = parentIndex;
+        left[mid] = build(lo, mid, mid);
+        right[mid] = build(mid + 1, hi, mid);
+        update(mid);
+        return mid;
+    }
+
+    // Node helpers
+
+    private int height(int i) {
+        return i == NIL ? 0 : height[i];
+    }
+
+    private int size(int i) {
+        return i == NIL ? 0 : size[i];
+    }
+
+    /**
+     * Recomputes the height and subtree size of a node from its children.
+     * Time complexity: O(1)
+     */
+    private void update(int i) {
+        height[i] = (byte) (1 + Math.max(height(left[i]), height(right[i])));
+        size[i] = 1 + size(left[i]) + size(right[i]);
+    }
+
+    /**
+     * Makes newChild take the place of oldChild under p (or at the root if p is NIL).
+     * Time complexity: O(1)
+     */
+    private void replaceChild(int p, int oldChild, int newChild) {
+        if (p == NIL) root = newChild;
+        else if (left[p] == oldChild) left[p] = newChild;
+        else right[p] = newChild;
+        if (newChild != NIL) parent[newChild] = p;
+    }
+
+    /**
+     * Single left rotation rooted at z.
+     * Time complexity: O(1)
+     * @return new root of the subtree (the old right child of z)
+     */
+    private int rotateLeft(int z) {
+        int y = right[z];
+        int t = left[y];
+        replaceChild(parent[z], z, y);
+        right[z] = t;
+        if (t != NIL) parent[t] = z;
+        left[y] = z;
+        parent[z] = y;
+        update(z);
+        update(y);
+        return y;
+    }
+
+    /**
+     * Single right rotation rooted at z.
+     * Time complexity: O(1)
+     * @return new root of the subtree (the old left child of z)
+     */
+    private int rotateRight(int z) {
+        int y = left[z];
+        int t = right[y];
+        replaceChild(parent[z], z, y);
+        left[z] = t;
+        if (t != NIL) parent[t] = z;
+        right[y] = z;
+        parent[z] = y;
+        update(z);
+        update(y);
+        return y;
+    }
+
+    /**
+     * Restores the balance of a node with a single or double rotation, if needed.
+     * Time complexity: O(1)
+     * @return root of the subtree that was rooted at i
+     */
+    private int rebalance(int i) {
+        int balance = height(left[i]) - height(right[i]);
+        if (balance > 1) {
+            if (height(left[left[i]]) < height(right[left[i]])) rotateLeft(left[i]);
+            return rotateRight(i);
+        }
+        if (balance < -1) {
+            if (height(right[right[i]]) < height(left[right[i]])) rotateRight(right[i]);
+            return rotateLeft(i);
+        }
+        return i;
+    }
+
+    /**
+     * Walks upward from the lowest node whose subtree changed, updating heights
+     * and subtree sizes and restoring balance, until a subtree keeps its height.
+     * Above it only the subtree sizes change.
+     * @param i starting point
+     * @param sizeChange change in the number of nodes below i (1 or -1)
+     * Time complexity: O(log n)
+     */
+    private void rebalanceUp(int i, int sizeChange) {
+        while (i != NIL) {
+            int oldHeight = height[i];
+            update(i);
+            int top = rebalance(i);
+            i = parent[top];
+            if (height[top] == oldHeight) break;
+        }
+        for (; i != NIL; i = parent[i])
+            size[i] += sizeChange;
+    }
+
+    /**
+     * Returns the node of a key.
+     * Time complexity: O(log n)
+     * @return index of the node, NIL if the key is not in the map
+     */
+    private int find(K key) {
+        int i = root;
+        while (i != NIL) {
+            int cmp = key.compareTo(keys[i]);
+            if (cmp == 0) return i;
+            i = cmp < 0 ? left[i] : right[i];
+        }
+        return NIL;
+    }
+
+    private int leftmost(int i) {
+        while (left[i] != NIL) i = left[i];
+        return i;
+    }
+
+    private int rightmost(int i) {
+        while (right[i] != NIL) i = right[i];
+        return i;
+    }
+
+    /**
+     * Returns the node that follows a node in key order.
+     * Time complexity: O(log n), O(1) amortized over an iteration
+     * @return index of the successor, NIL if i is the last node
+     */
+    private int successor(int i) {
+        if (right[i] != NIL) return leftmost(right[i]);
+        int p = parent[i];
+        while (p != NIL && i == right[p]) {
+            i = p;
+            p = parent[p];
+        }
+        return p;
+    }
+
+    private Entry<K, V> entry(int i) {
+        return i == NIL ? null : new Entry<>(keys[i], values[i]);
+    }
+
+    // Map
+
+    /**
+     * Returns true iff the map contains no entries.
+     * Time complexity: O(1)
+     * @return true if the map is empty
+     */
+    @Override
+    public boolean isEmpty() {
+        return currentSize == 0;
+    }
+
+    /**
+     * Returns the number of entries in the map.
+     * Time complexity: O(1)
+     * @return number of entries
+     */
+    @Override
+    public int size() {
+        return currentSize;
+    }
+
+    /**
+     * Returns the value associated with the specified key, or null if not present.
+     * @param key whose associated value is to be returned
+     * Time complexity: O(log n)
+     * @return value associated with key, or null if not found
+     */
+    @Override
+    public V get(K key) {
+        int i = find(key);
+        return i == NIL ? null : values[i];
+    }
+
+    /**
+     * Insert or update a key-value pair in the map.
+     * @param key Key to insert or update
+     * @param value Value to insert
+     * Time complexity: O(log n)
+     * @return The old value if the key already existed, or null otherwise
+     */
+    @Override
+    public V put(K key, V value) {
+        int p = NIL;
+        int i = root;
+        int cmp = 0;
+        while (i != NIL) {
+            cmp = key.compareTo(keys[i]);
+            if (cmp == 0) {
+                V old = values[i];
+                keys[i] = key;
+                values[i] = value;
+                return old;
+            }
+            p = i;
+            i = cmp < 0 ? left[i] : right[i];
+        }
+
+        int leaf = newNode(key, value, p);
+        currentSize++;
+        if (p == NIL) {
+            root = leaf;
+            return null;
+        }
+        if (cmp < 0) left[p] = leaf;
+        else right[p] = leaf;
+        rebalanceUp(p, 1);
+        return null;
+    }
+
+    /**
+     * Remove an entry by key from the map.
+     * A node with two children takes the entry of its successor, whose node is removed instead.
+     * @param key whose entry is to be removed from the map
+     * Time complexity: O(log n)
+     * @return The removed value if the key existed, or null otherwise
+     */
+    @Override
+    public V remove(K key) {
+        int i = find(key);
+        if (i == NIL) return null;
+        V old = values[i];
+        if (left[i] != NIL && right[i] != NIL) {
+            int succ = leftmost(right[i]);
+            keys[i] = keys[succ];
+            values[i] = values[succ];
+            i = succ;
+        }
+        int child = left[i] != NIL ? left[i] : right[i];
+        int p = parent[i];
+        replaceChild(p, i, child);
+        freeNode(i);
+        currentSize--;
+        rebalanceUp(p, -1);
+        return old;
+    }
+
+    // SortedMap
+
+    /**
+     * Returns the entry with the smallest key in the dictionary.
+     * @throws EmptyMapException if the map is empty
+     * Time complexity: O(log n)
+     * @return Entry with the smallest key
+     */
+    @Override
+    public Entry<K, V> minEntry() {
+        if (isEmpty()) throw new EmptyMapException();
+        return entry(leftmost(root));
+    }
+
+    /**
+     * Returns the entry with the largest key in the dictionary.
+     * @throws EmptyMapException if the map is empty
+     * Time complexity: O(log n)
+     * @return Entry with the largest key
+     */
+    @Override
+    public Entry<K, V> maxEntry() {
+        if (isEmpty()) throw new EmptyMapException();
+        return entry(rightmost(root));
+    }
+
+    /**
+     * Returns the node with the largest key less than or equal to the given key.
+     * Time complexity: O(log n)
+     */
+    private int floor(K key) {
+        int i = root;
+        int floor = NIL;
+        while (i != NIL) {
+            int cmp = key.compareTo(keys[i]);
+            if (cmp == 0) return i;
+            if (cmp < 0) {
+                i = left[i];
+            } else {
+                floor = i;
+                i = right[i];
+            }
+        }
+        return floor;
+    }
+
+    /**
+     * Returns the node with the smallest key greater than or equal to the given key.
+     * Time complexity: O(log n)
+     */
+    private int ceiling(K key) {
+        int i = root;
+        int ceiling = NIL;
+        while (i != NIL) {
+            int cmp = key.compareTo(keys[i]);
+            if (cmp == 0) return i;
+            if (cmp > 0) {
+                i = right[i];
+            } else {
+                ceiling = i;
+                i = left[i];
+            }
+        }
+        return ceiling;
+    }
+
+    /**
+     * Returns the entry with the largest key less than or equal to the given key.
+     * @param key key to search
+     * Time complexity: O(log n)
+     * @return entry with the floor key, or null if there is none
+     */
+    @Override
+    public Entry<K, V> floorEntry(K key) {
+        return entry(floor(key));
+    }
+
+    /**
+     * Returns the entry with the smallest key greater than or equal to the given key.
+     * @param key key to search
+     * Time complexity: O(log n)
+     * @return entry with the ceiling key, or null if there is none
+     */
+    @Override
+    public Entry<K, V> ceilingEntry(K key) {
+        return entry(ceiling(key));
+    }
+
+    /**
+     * Returns an iterator of the entries with keys from fromKey (inclusive) to toKey (exclusive).
+     * @param fromKey lower bound of the keys (inclusive)
+     * @param toKey upper bound of the keys (exclusive)
+     * Time complexity: O(log n) to create, O(1) amortized per entry
+     * @return iterator of the entries in the range
+     */
+    @Override
+    public Iterator<Entry<K, V>> subMap(K fromKey, K toKey) {
+        return new ArrayAVLIterator(ceiling(fromKey), toKey);
+    }
+
+    // IndexedSortedMap
+
+    /**
+     * Returns the node at the given position in key order.
+     * @pre 0 <= index < size()
+     * Time complexity: O(log n)
+     */
+    private int selectNode(int index) {
+        int i = root;
+        while (true) {
+            int leftSize = size(left[i]);
+            if (index < leftSize) {
+                i = left[i];
+            } else if (index == leftSize) {
+                return i;
+            } else {
+                index -= leftSize + 1;
+                i = right[i];
+            }
+        }
+    }
+
+    /**
+     * Returns the entry at the given position in key order.
+     * @param index position of the entry, from 0
+     * @throws InvalidPositionException if index < 0 or index >= size()
+     * Time complexity: O(log n)
+     * @return entry with index smaller keys
+     */
+    @Override
+    public Entry<K, V> select(int index) {
+        if (index < 0 || index >= currentSize) throw new InvalidPositionException();
+        return entry(selectNode(index));
+    }
+
+    /**
+     * Returns the number of keys smaller than the given one.
+     * @param key key to rank
+     * Time complexity: O(log n)
+     * @return position of the key, or where it would be inserted
+     */
+    @Override
+    public int rank(K key) {
+        int rank = 0;
+        int i = root;
+        while (i != NIL) {
+            int cmp = key.compareTo(keys[i]);
+            if (cmp < 0) {
+                i = left[i];
+            } else {
+                rank += size(left[i]);
+                if (cmp == 0) return rank;
+                rank++;
+                i = right[i];
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Returns an iterator of the entries from the given position on.
+     * @param index position of the first entry, from 0
+     * @throws InvalidPositionException if index < 0 or index > size()
+     * Time complexity: O(log n) to create, O(1) amortized per entry
+     * @return iterator of the entries from position index on
+     */
+    @Override
+    public Iterator<Entry<K, V>> iterator(int index) {
+        if (index < 0 || index > currentSize) throw new InvalidPositionException();
+        return new ArrayAVLIterator(index == currentSize ? NIL : selectNode(index), null);
+    }
+
+    /**
+     * Returns an iterator of the values from the given position on.
+     * @param index position of the first value, from 0
+     * @throws InvalidPositionException if index < 0 or index > size()
+     * Time complexity: O(log n) to create, O(1) amortized per value
+     * @return iterator of the values from position index on
+     */
+    @Override
+    @SuppressWarnings({"unchecked","rawtypes"})
+    public Iterator<V> values(int index) {
+        return new ValuesIterator(iterator(index));
+    }
+
+    /**
+     * Returns an iterator of the entries in key order.
+     * Time complexity: O(log n) to create, O(n) to iterate fully
+     * @return iterator of the entries
+     */
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        return new ArrayAVLIterator(root == NIL ? NIL : leftmost(root), null);
+    }
+
+    /**
+     * Returns an iterator of the values in key order.
+     * Time complexity: O(log n) to create, O(n) to iterate fully
+     * @return iterator of the values
+     */
+    @Override
+    @SuppressWarnings({"unchecked","rawtypes"})
+    public Iterator<V> values() {
+        return new ValuesIterator(iterator());
+    }
+
+    /**
+     * Returns an iterator of the keys in key order.
+     * Time complexity: O(log n) to create, O(n) to iterate fully
+     * @return iterator of the keys
+     */
+    @Override
+    @SuppressWarnings({"unchecked","rawtypes"})
+    public Iterator<K> keys() {
+        return new KeysIterator(iterator());
+    }
+
+    /**
+     * Custom serialization: writes map size and all entries in key order.
+     * @param out output stream
+     * @throws IOException
+     * Time complexity: O(n)
+     */
+    @Serial
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(currentSize);
+        for (int i = root == NIL ? NIL : leftmost(root); i != NIL; i = successor(i)) {
+            out.writeObject(keys[i]);
+            out.writeObject(values[i]);
+        }
+    }
+
+    /**
+     * Custom deserialization: reads the entries into the first slots, in key
+     * order, and links them into a balanced tree.
+     * @param in input stream
+     * @throws IOException
+     * @throws ClassNotFoundException
+     * Time complexity: O(n)
+     */
+    @Serial
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        int n = in.readInt();
+        allocate(Math.max(n, DEFAULT_CAPACITY));
+        for (int i = 0; i < n; i++) {
+            keys[i] = (K) in.readObject();
+            values[i] = (V) in.readObject();
+        }
+        buildFromSlots(n);
+    }
+
+    /**
+     * In-order iterator over the nodes, from a given node up to an optional
+     * upper bound (exclusive).
+     */
+    private class ArrayAVLIterator implements Iterator<Entry<K, V>> {
+
+        /** Node the iteration starts at */
+        private final int first;
+
+        /** Upper bound of the keys (exclusive), or null for none */
+        private final K toKey;
+
+        /** Node of the next entry */
+        private int next;
+
+        /**
+         * Constructor
+         * @param first node of the first entry, NIL for an empty iteration
+         * @param toKey upper bound of the keys (exclusive), or null for none
+         * Time complexity: O(1)
+         */
+        ArrayAVLIterator(int first, K toKey) {
+            this.first = first;
+            this.toKey = toKey;
+            rewind();
+        }
+
+        /**
+         * Returns true if next would return an entry.
+         * Time complexity: O(1)
+         * @return true if the iteration has more entries
+         */
+        @Override
+        public boolean hasNext() {
+            return next != NIL && (toKey == null || keys[next].compareTo(toKey) < 0);
+        }
+
+        /**
+         * Returns the next entry in the iteration.
+         * Time complexity: O(1) amortized
+         * @return the next entry
+         * @throws NoSuchElementException if there is no next entry
+         */
+        @Override
+        public Entry<K, V> next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            Entry<K, V> entry = entry(next);
+            next = successor(next);
+            return entry;
+        }
+
+        /**
+         * Restarts the iteration.
+         * Time complexity: O(1)
+         */
+        @Override
+        public void rewind() {
+            next = first;
+        }
+    }
+}
@@ -0,0 +1,694 @@
+package dataStructures;
+
+import dataStructures.exceptions.*;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+
+/**
+ * B+ Tree Sorted Map
+ * Every entry is kept in a leaf, in sorted arrays of up to MAX_KEYS keys and
+ * values, and the leaves are chained in key order, so an ordered scan walks
+ * the arrays of one leaf after another. Inner nodes hold only separator keys:
+ * the keys of child i are smaller than keys[i] and not smaller than keys[i - 1].
+ * With MAX_KEYS = 32, a lookup visits about log32(n) nodes.
+ * Every node but the root holds at least MIN_KEYS keys: a node that overflows
+ * is split in two, one that underflows borrows a key from a sibling or is
+ * merged with it.
+ * Entries are created when iterated or returned, so they are snapshots.
+ *
+ * @param <K> Generic Key
+ * @param <V> Generic Value
+ */
+public class BPlusTreeSortedMap<K extends Comparable<K>, V> implements SortedMap<K, V> {
+
+    private static final long serialVersionUID = 0L;
+
+    /** Maximum number of keys of a node (the fan-out of inner nodes is one more) */
+    static final int MAX_KEYS = 32;
+
+    /** Minimum number of keys of a node other than the root */
+    static final int MIN_KEYS = MAX_KEYS / 2;
+
+    /** Root of the tree, an empty leaf if the map is empty */
+    private transient Node<K, V> root;
+
+    /** Number of entries */
+    private transient int currentSize;
+
+    /** Value replaced or removed by the last put or remove */
+    private transient V oldValue;
+
+    /** Separator key pushed up by the last split */
+    private transient K pushedKey;
+
+    /**
+     * Node of the tree: count keys in sorted order.
+     */
+    private abstract static class Node<K, V> {
+
+        /** Keys, in the first count positions (one spare slot for an overflow before a split) */
+        final K[] keys;
+
+        /** Number of keys */
+        int count;
+
+        @SuppressWarnings("unchecked")
+        Node() {
+            keys = (K[]) new Comparable[MAX_KEYS + 1];
+        }
+    }
+
+    /**
+     * Leaf: keys with their values, and the next leaf in key order.
+     */
+    private static final class Leaf<K, V> extends Node<K, V> {
+
+        /** Values of the keys, at the same positions */
+        final V[] values;
+
+        /** Next leaf, null for the last one */
+        Leaf<K, V> next;
+
+        @SuppressWarnings("unchecked")
+        Leaf() {
+            values = (V[]) new Object[MAX_KEYS + 1];
+        }
+    }
+
+    /**
+     * Inner node: count separator keys and count + 1 children.
+     */
+    private static final class Inner<K, V> extends Node<K, V> {
+
+        /** Children, in the first count + 1 positions */
+        final Node<K, V>[] children;
+
+        @SuppressWarnings("unchecked")
+        Inner() {
+            children = (Node<K, V>[]) new Node[MAX_KEYS + 2];
+        }
+    }
+
+    /**
+     * Constructor of an empty map.
+     * Time complexity: O(1)
+     */
+    public BPlusTreeSortedMap() {
+        root = new Leaf<>();
+        currentSize = 0;
+    }
+
+    // Searching inside a node
+
+    /**
+     * Returns the position of the first key of a node not smaller than the given key.
+     * Time complexity: O(log MAX_KEYS)
+     */
+    private static <K extends Comparable<K>> int lowerBound(Node<K, ?> node, K key) {
+        int lo = 0, hi = node.count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (node.keys[mid].compareTo(key) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * Returns the position of the first key of a node greater than the given
+     * key, which in an inner node is the child that may hold the key.
+     * Time complexity: O(log MAX_KEYS)
+     */
+    private static <K extends Comparable<K>> int upperBound(Node<K, ?> node, K key) {
+        int lo = 0, hi = node.count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (node.keys[mid].compareTo(key) <= 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * Returns the leaf that holds the key, if it is in the map.
+     * Time complexity: O(log n)
+     */
+    private Leaf<K, V> leafFor(K key) {
+        Node<K, V> node = root;
+        while (node instanceof Inner<K, V> inner)
+            node = inner.children[upperBound(inner, key)];
+        return (Leaf<K, V>) node;
+    }
+
+    private Leaf<K, V> firstLeaf() {
+        Node<K, V> node = root;
+        while (node instanceof Inner<K, V> inner) node = inner.children[0];
+        return (Leaf<K, V>) node;
+    }
+
+    private static <K, V> Leaf<K, V> lastLeaf(Node<K, V> node) {
+        while (node instanceof Inner<K, V> inner) node = inner.children[inner.count];
+        return (Leaf<K, V>) node;
+    }
+
+    // Map
+
+    /**
+     * Returns true iff the map contains no entries.
+     * Time complexity: O(1)
+     * @return true if the map is empty
+     */
+    @Override
+    public boolean isEmpty() {
+        return currentSize == 0;
+    }
+
+    /**
+     * Returns the number of entries in the map.
+     * Time complexity: O(1)
+     * @return number of entries
+     */
+    @Override
+    public int size() {
+        return currentSize;
+    }
+
+    /**
+     * Returns the value associated with the specified key, or null if not present.
+     * @param key whose associated value is to be returned
+     * Time complexity: O(log n)
+     * @return value associated with key, or null if not found
+     */
+    @Override
+    public V get(K key) {
+        Leaf<K, V> leaf = leafFor(key);
+        int i = lowerBound(leaf, key);
+        if (i < leaf.count && leaf.keys[i].compareTo(key) == 0) return leaf.values[i];
+        return null;
+    }
+
+    /**
+     * Insert or update a key-value pair in the map.
+     * @param key Key to insert or update
+     * @param value Value to insert
+     * Time complexity: O(log n)
+     * @return The old value if the key already existed, or null otherwise
+     */
+    @Override
+    public V put(K key, V value) {
+        oldValue = null;
+        Node<K, V> sibling = insert(root, key, value);
+        if (sibling != null) {
+            Inner<K, V> newRoot = new Inner<>();
+            newRoot.keys[0] = pushedKey;
+            newRoot.children[0] = root;
+            newRoot.children[1] = sibling;
+            newRoot.count = 1;
+            root = newRoot;
+        }
+        V old = oldValue;
+        oldValue = null;
+        pushedKey = null;
+        return old;
+    }
+
+    /**
+     * Inserts or updates a key in the subtree of a node, splitting the node if it overflows.
+     * Time complexity: O(log n)
+     * @return new right sibling of node if it was split (its separator in pushedKey), null otherwise
+     */
+    private Node<K, V> insert(Node<K, V> node, K key, V value) {
+        if (node instanceof Leaf<K, V> leaf) {
+            int i = lowerBound(leaf, key);
+            if (i < leaf.count && leaf.keys[i].compareTo(key) == 0) {
+                oldValue = leaf.values[i];
+                leaf.keys[i] = key;
+                leaf.values[i] = value;
+                return null;
+            }
+            for (int j = leaf.count; j > i; j--) {
+                leaf.keys[j] = leaf.keys[j - 1];
+                leaf.values[j] = leaf.values[j - 1];
+            }
+            leaf.keys[i] = key;
+            leaf.values[i] = value;
+            leaf.count++;
+            currentSize++;
+            return leaf.count > MAX_KEYS ? splitLeaf(leaf) : null;
+        }
+
+        Inner<K, V> inner = (Inner<K, V>) node;
+        int c = upperBound(inner, key);
+        Node<K, V> sibling = insert(inner.children[c], key, value);
+        if (sibling == null) return null;
+        for (int j = inner.count; j > c; j--) {
+            inner.keys[j] = inner.keys[j - 1];
+            inner.children[j + 1] = inner.children[j];
+        }
+        inner.keys[c] = pushedKey;
+        inner.children[c + 1] = sibling;
+        inner.count++;
+        return inner.count > MAX_KEYS ? splitInner(inner) : null;
+    }
+
+    /**
+     * Moves the upper half of an overflowing leaf to a new leaf chained after it.
+     * Time complexity: O(MAX_KEYS)
+     * @return the new leaf (its first key in pushedKey)
+     */
+    private Leaf<K, V> splitLeaf(Leaf<K, V> leaf) {
+        Leaf<K, V> right = new Leaf<>();
+        int half = leaf.count / 2;
+        for (int j = half; j < leaf.count; j++) {
+            right.keys[j - half] = leaf.keys[j];
+            right.values[j - half] = leaf.values[j];
+            leaf.keys[j] = null;
+            leaf.values[j] = null;
+        }
+        right.count = leaf.count - half;
+        leaf.count = half;
+        right.next = leaf.next;
+        leaf.next = right;
+        pushedKey = right.keys[0];
+        return right;
+    }
+
+    /**
+     * Moves the upper half of an overflowing inner node to a new inner node,
+     * pushing the middle key up.
+     * Time complexity: O(MAX_KEYS)
+     * @return the new inner node (the middle key in pushedKey)
+     */
+    private Inner<K, V> splitInner(Inner<K, V> inner) {
+        Inner<K, V> right = new Inner<>();
+        int mid = inner.count / 2;
+        pushedKey = inner.keys[mid];
+        for (int j = mid + 1; j < inner.count; j++) {
+            right.keys[j - mid - 1] = inner.keys[j];
+            inner.keys[j] = null;
+        }
+        for (int j = mid + 1; j <= inner.count; j++) {
+            right.children[j - mid - 1] = inner.children[j];
+            inner.children[j] = null;
+        }
+        inner.keys[mid] = null;
+        right.count = inner.count - mid - 1;
+        inner.count = mid;
+        return right;
+    }
+
+    /**
+     * Remove an entry by key from the map.
+     * @param key whose entry is to be removed from the map
+     * Time complexity: O(log n)
+     * @return The removed value if the key existed, or null otherwise
+     */
+    @Override
+    public V remove(K key) {
+        if (!delete(root, key)) return null;
+        if (root instanceof Inner<K, V> inner && inner.count == 0) root = inner.children[0];
+        V old = oldValue;
+        oldValue = null;
+        return old;
+    }
+
+    /**
+     * Removes a key from the subtree of a node, fixing the child it was
+     * removed from if that child underflows.
+     * Time complexity: O(log n)
+     * @return true if the key was found (its value in oldValue)
+     */
+    private boolean delete(Node<K, V> node, K key) {
+        if (node instanceof Leaf<K, V> leaf) {
+            int i = lowerBound(leaf, key);
+            if (i == leaf.count || leaf.keys[i].compareTo(key) != 0) return false;
+            oldValue = leaf.values[i];
+            for (int j = i + 1; j < leaf.count; j++) {
+                leaf.keys[j - 1] = leaf.keys[j];
+                leaf.values[j - 1] = leaf.values[j];
+            }
+            leaf.count--;
+            leaf.keys[leaf.count] = null;
+            leaf.values[leaf.count] = null;
+            currentSize--;
+            return true;
+        }
+
+        Inner<K, V> inner = (Inner<K, V>) node;
+        int c = upperBound(inner, key);
+        if (!delete(inner.children[c], key)) return false;
+        if (inner.children[c].count < MIN_KEYS) fixUnderflow(inner, c);
+        return true;
+    }
+
+    /**
+     * Restores the minimum occupancy of child c of a node by borrowing a key
+     * from a sibling that can spare one, or else merging it with a sibling.
+     * Time complexity: O(MAX_KEYS)
+     */
+    private void fixUnderflow(Inner<K, V> parent, int c) {
+        Node<K, V> child = parent.children[c];
+        Node<K, V> left = c > 0 ? parent.children[c - 1] : null;
+        Node<K, V> right = c < parent.count ? parent.children[c + 1] : null;
+
+        if (left != null && left.count > MIN_KEYS) borrowFromLeft(parent, c, left, child);
+        else if (right != null && right.count > MIN_KEYS) borrowFromRight(parent, c, child, right);
+        else if (left != null) merge(parent, c - 1);
+        else merge(parent, c);
+    }
+
+    /**
+     * Moves the last key of the left sibling to the front of child c.
+     * Time complexity: O(MAX_KEYS)
+     */
+    private void borrowFromLeft(Inner<K, V> parent, int c, Node<K, V> left, Node<K, V> child) {
+        if (child instanceof Leaf<K, V> leaf) {
+            Leaf<K, V> from = (Leaf<K, V>) left;
+            for (int j = leaf.count; j > 0; j--) {
+                leaf.keys[j] = leaf.keys[j - 1];
+                leaf.values[j] = leaf.values[j - 1];
+            }
+            from.count--;
+            leaf.keys[0] = from.keys[from.count];
+            leaf.values[0] = from.values[from.count];
+            from.keys[from.count] = null;
+            from.values[from.count] = null;
+            leaf.count++;
+            parent.keys[c - 1] = leaf.keys[0];
+        } else {
+            Inner<K, V> inner = (Inner<K, V>) child;
+            Inner<K, V> from = (Inner<K, V>) left;
+            for (int j = inner.count; j > 0; j--) inner.keys[j] = inner.keys[j - 1];
+            for (int j = inner.count + 1; j > 0; j--) inner.children[j] = inner.children[j - 1];
+            inner.keys[0] = parent.keys[c - 1];
+            inner.children[0] = from.children[from.count];
+            inner.count++;
+            parent.keys[c - 1] = from.keys[from.count - 1];
+            from.keys[from.count - 1] = null;
+            from.children[from.count] = null;
+            from.count--;
+        }
+    }
+
+    /**
+     * Moves the first key of the right sibling to the end of child c.
+     * Time complexity: O(MAX_KEYS)
+     */
+    private void borrowFromRight(Inner<K, V> parent, int c, Node<K, V> child, Node<K, V> right) {
+        if (child instanceof Leaf<K, V> leaf) {
+            Leaf<K, V> from = (Leaf<K, V>) right;
+            leaf.keys[leaf.count] = from.keys[0];
+            leaf.values[leaf.count] = from.values[0];
+            leaf.count++;
+            for (int j = 1; j < from.count; j++) {
+                from.keys[j - 1] = from.keys[j];
+                from.values[j - 1] = from.values[j];
+            }
+            from.count--;
+            from.keys[from.count] = null;
+            from.values[from.count] = null;
+            parent.keys[c] = from.keys[0];
+        } else {
+            Inner<K, V> inner = (Inner<K, V>) child;
+            Inner<K, V> from = (Inner<K, V>) right;
+            inner.keys[inner.count] = parent.keys[c];
+            inner.children[inner.count + 1] = from.children[0];
+            inner.count++;
+            parent.keys[c] = from.keys[0];
+            for (int j = 1; j < from.count; j++) from.keys[j - 1] = from.keys[j];
+            for (int j = 1; j <= from.count; j++) from.children[j - 1] = from.children[j];
+            from.keys[from.count - 1] = null;
+            from.children[from.count] = null;
+            from.count--;
+        }
+    }
+
+    /**
+     * Merges child i + 1 of a node into child i and removes their separator.
+     * Time complexity: O(MAX_KEYS)
+     */
+    private void merge(Inner<K, V> parent, int i) {
+        Node<K, V> left = parent.children[i];
+        Node<K, V> right = parent.children[i + 1];
+        if (left instanceof Leaf<K, V> leaf) {
+            Leaf<K, V> from = (Leaf<K, V>) right;
+            for (int j = 0; j < from.count; j++) {
+                leaf.keys[leaf.count + j] = from.keys[j];
+                leaf.values[leaf.count + j] = from.values[j];
+            }
+            leaf.count += from.count;
+            leaf.next = from.next;
+        } else {
+            Inner<K, V> inner = (Inner<K, V>) left;
+            Inner<K, V> from = (Inner<K, V>) right;
+            inner.keys[inner.count] = parent.keys[i];
+            for (int j = 0; j < from.count; j++) inner.keys[inner.count + 1 + j] = from.keys[j];
+            for (int j = 0; j <= from.count; j++) inner.children[inner.count + 1 + j] = from.children[j];
+            inner.count += 1 + from.count;
+        }
+        for (int j = i + 1; j < parent.count; j++) {
+            parent.keys[j - 1] = parent.keys[j];
+            parent.children[j] = parent.children[j + 1];
+        }
+        parent.count--;
+        parent.keys[parent.count] = null;
+        parent.children[parent.count + 1] = null;
+    }
+
+    // SortedMap
+
+    /**
+     * Returns the entry with the smallest key in the dictionary.
+     * @throws EmptyMapException if the map is empty
+     * Time complexity: O(log n)
+     * @return Entry with the smallest key
+     */
+    @Override
+    public Entry<K, V> minEntry() {
+        if (isEmpty()) throw new EmptyMapException();
+        Leaf<K, V> leaf = firstLeaf();
+        return new Entry<>(leaf.keys[0], leaf.values[0]);
+    }
+
+    /**
+     * Returns the entry with the largest key in the dictionary.
+     * @throws EmptyMapException if the map is empty
+     * Time complexity: O(log n)
+     * @return Entry with the largest key
+     */
+    @Override
+    public Entry<K, V> maxEntry() {
+        if (isEmpty()) throw new EmptyMapException();
+        Leaf<K, V> leaf = lastLeaf(root);
+        return new Entry<>(leaf.keys[leaf.count - 1], leaf.values[leaf.count - 1]);
+    }
+
+    /**
+     * Returns the entry with the largest key less than or equal to the given key.
+     * If the leaf of the key holds no such key, the floor is the largest key of
+     * the subtree to the left of the lowest branch that did not take the first child.
+     * @param key key to search
+     * Time complexity: O(log n)
+     * @return entry with the floor key, or null if there is none
+     */
+    @Override
+    public Entry<K, V> floorEntry(K key) {
+        Node<K, V> node = root;
+        Node<K, V> before = null;
+        while (node instanceof Inner<K, V> inner) {
+            int c = upperBound(inner, key);
+            if (c > 0) before = inner.children[c - 1];
+            node = inner.children[c];
+        }
+        Leaf<K, V> leaf = (Leaf<K, V>) node;
+        int i = upperBound(leaf, key) - 1;
+        if (i >= 0) return new Entry<>(leaf.keys[i], leaf.values[i]);
+        if (before == null) return null;
+        leaf = lastLeaf(before);
+        return new Entry<>(leaf.keys[leaf.count - 1], leaf.values[leaf.count - 1]);
+    }
+
+    /**
+     * Returns the entry with the smallest key greater than or equal to the given key.
+     * @param key key to search
+     * Time complexity: O(log n)
+     * @return entry with the ceiling key, or null if there is none
+     */
+    @Override
+    public Entry<K, V> ceilingEntry(K key) {
+        Leaf<K, V> leaf = leafFor(key);
+        int i = lowerBound(leaf, key);
+        if (i == leaf.count) {
+            leaf = leaf.next;
+            i = 0;
+        }
+        return leaf == null ? null : new Entry<>(leaf.keys[i], leaf.values[i]);
+    }
+
+    /**
+     * Returns an iterator of the entries with keys from fromKey (inclusive) to toKey (exclusive).
+     * The iteration starts at the ceiling of fromKey in its leaf and follows the leaf chain.
+     * @param fromKey lower bound of the keys (inclusive)
+     * @param toKey upper bound of the keys (exclusive)
+     * Time complexity: O(log n) to create, O(1) per entry
+     * @return iterator of the entries in the range
+     */
+    @Override
+    public Iterator<Entry<K, V>> subMap(K fromKey, K toKey) {
+        Leaf<K, V> leaf = leafFor(fromKey);
+        return new LeafIterator(leaf, lowerBound(leaf, fromKey), toKey);
+    }
+
+    /**
+     * Returns an iterator of the entries in key order, walking the leaf chain.
+     * Time complexity: O(log n) to create, O(n) to iterate fully
+     * @return iterator of the entries
+     */
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        return new LeafIterator(firstLeaf(), 0, null);
+    }
+
+    /**
+     * Returns an iterator of the values in key order.
+     * Time complexity: O(log n) to create, O(n) to iterate fully
+     * @return iterator of the values
+     */
+    @Override
+    @SuppressWarnings({"unchecked","rawtypes"})
+    public Iterator<V> values() {
+        return new ValuesIterator(iterator());
+    }
+
+    /**
+     * Returns an iterator of the keys in key order.
+     * Time complexity: O(log n) to create, O(n) to iterate fully
+     * @return iterator of the keys
+     */
+    @Override
+    @SuppressWarnings({"unchecked","rawtypes"})
+    public Iterator<K> keys() {
+        return new KeysIterator(iterator());
+    }
+
+    /**
+     * Custom serialization: writes map size and all entries in key order.
+     * @param out output stream
+     * @throws IOException
+     * Time complexity: O(n)
+     */
+    @Serial
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(currentSize);
+        for (Leaf<K, V> leaf = firstLeaf(); leaf != null; leaf = leaf.next) {
+            for (int i = 0; i < leaf.count; i++) {
+                out.writeObject(leaf.keys[i]);
+                out.writeObject(leaf.values[i]);
+            }
+        }
+    }
+
+    /**
+     * Custom deserialization: inserts the serialized entries, which always go
+     * to the last leaf since they come in key order.
+     * @param in input stream
+     * @throws IOException
+     * @throws ClassNotFoundException
+     * Time complexity: O(n log n)
+     */
+    @Serial
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        root = new Leaf<>();
+        currentSize = 0;
+        int n = in.readInt();
+        for (int i = 0; i < n; i++) {
+            K key = (K) in.readObject();
+            V value = (V) in.readObject();
+            put(key, value);
+        }
+    }
+
+    /**
+     * Iterator over the leaf chain, from a position of a leaf up to an
+     * optional upper bound (exclusive).
+     */
+    private class LeafIterator implements Iterator<Entry<K, V>> {
+
+        /** Leaf and position the iteration starts at */
+        private final Leaf<K, V> firstLeaf;
+        private final int firstIndex;
+
+        /** Upper bound of the keys (exclusive), or null for none */
+        private final K toKey;
+
+        /** Leaf and position of the next entry */
+        private Leaf<K, V> leaf;
+        private int index;
+
+        /**
+         * Constructor
+         * @param leaf leaf of the first entry
+         * @param index position of the first entry in the leaf (may be its count)
+         * @param toKey upper bound of the keys (exclusive), or null for none
+         * Time complexity: O(1)
+         */
+        LeafIterator(Leaf<K, V> leaf, int index, K toKey) {
+            this.firstLeaf = leaf;
+            this.firstIndex = index;
+            this.toKey = toKey;
+            rewind();
+        }
+
+        /**
+         * Moves to the next leaf while the current one has no more entries.
+         * Time complexity: O(1)
+         */
+        private void skipExhaustedLeaf() {
+            while (leaf != null && index == leaf.count) {
+                leaf = leaf.next;
+                index = 0;
+            }
+        }
+
+        /**
+         * Returns true if next would return an entry.
+         * Time complexity: O(1)
+         * @return true if the iteration has more entries
+         */
+        @Override
+        public boolean hasNext() {
+            return leaf != null && (toKey == null || leaf.keys[index].compareTo(toKey) < 0);
+        }
+
+        /**
+         * Returns the next entry in the iteration.
+         * Time complexity: O(1)
+         * @return the next entry
+         * @throws NoSuchElementException if there is no next entry
+         */
+        @Override
+        public Entry<K, V> next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            Entry<K, V> entry = new Entry<>(leaf.keys[index], leaf.values[index]);
+            index++;
+            skipExhaustedLeaf();
+            return entry;
+        }
+
+        /**
+         * Restarts the iteration.
+         * Time complexity: O(1)
+         */
+        @Override
+        public void rewind() {
+            leaf = firstLeaf;
+            index = firstIndex;
+            skipExhaustedLeaf();
+        }
+    }
+}
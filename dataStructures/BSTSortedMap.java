@@ -44,6 +44,89 @@ public class BSTSortedMap<K extends Comparable<K>, V> extends BTree<Map.Entry<K,
         return furtherRightElement().getElement();
     }
 
+    /**
+     * Returns the node with the largest key less than or equal to the given key.
+     * @param key key to search
+     * Time complexity: O(log n)
+     * @return floor node, or null if every key is greater
+     */
+    protected BTNode<Entry<K, V>> floorNode(K key) {
+        BTNode<Entry<K, V>> node = (BTNode<Entry<K, V>>) root;
+        BTNode<Entry<K, V>> floor = null;
+        while (node != null) {
+            int cmp = key.compareTo(node.getElement().key());
+            if (cmp == 0) return node;
+            if (cmp < 0) {
+                node = (BTNode<Entry<K, V>>) node.getLeftChild();
+            } else {
+                floor = node;
+                node = (BTNode<Entry<K, V>>) node.getRightChild();
+            }
+        }
+        return floor;
+    }
+
+    /**
+     * Returns the node with the smallest key greater than or equal to the given key.
+     * @param key key to search
+     * Time complexity: O(log n)
+     * @return ceiling node, or null if every key is smaller
+     */
+    protected BTNode<Entry<K, V>> ceilingNode(K key) {
+        BTNode<Entry<K, V>> node = (BTNode<Entry<K, V>>) root;
+        BTNode<Entry<K, V>> ceiling = null;
+        while (node != null) {
+            int cmp = key.compareTo(node.getElement().key());
+            if (cmp == 0) return node;
+            if (cmp > 0) {
+                node = (BTNode<Entry<K, V>>) node.getRightChild();
+            } else {
+                ceiling = node;
+                node = (BTNode<Entry<K, V>>) node.getLeftChild();
+            }
+        }
+        return ceiling;
+    }
+
+    /**
+     * Returns the entry with the largest key less than or equal to the given key.
+     * @param key key to search
+     * Time complexity: O(log n)
+     * @return entry with the floor key, or null if there is none
+     */
+    @Override
+    public Entry<K, V> floorEntry(K key) {
+        BTNode<Entry<K, V>> node = floorNode(key);
+        return node == null ? null : node.getElement();
+    }
+
+    /**
+     * Returns the entry with the smallest key greater than or equal to the given key.
+     * @param key key to search
+     * Time complexity: O(log n)
+     * @return entry with the ceiling key, or null if there is none
+     */
+    @Override
+    public Entry<K, V> ceilingEntry(K key) {
+        BTNode<Entry<K, V>> node = ceilingNode(key);
+        return node == null ? null : node.getElement();
+    }
+
+    /**
+     * Returns an iterator of the entries with keys from fromKey (inclusive) to toKey (exclusive).
+     * The iteration starts at the ceiling node of fromKey instead of the minimum.
+     * @param fromKey lower bound of the keys (inclusive)
+     * @param toKey upper bound of the keys (exclusive)
+     * Time complexity: O(log n) to create, O(1) amortized per entry
+     * @return iterator of the entries in the range
+     */
+    @Override
+    public Iterator<Entry<K, V>> subMap(K fromKey, K toKey) {
+        BTNode<Entry<K, V>> first = ceilingNode(fromKey);
+        if (first == null) return new InOrderIterator<>(null);
+        return new InOrderRangeIterator<>((BTNode<Entry<K, V>>) root, first, toKey);
+    }
+
     /**
      * Returns the value associated with the specified key, or null if not present.
      * @param key whose associated value is to be returned
@@ -90,6 +173,7 @@ public class BSTSortedMap<K extends Comparable<K>, V> extends BTree<Map.Entry<K,
 
         if (isEmpty()) {
             root = createNode(newEntry, null);
+            currentSize++;
             return null;
         }
 
@@ -117,6 +201,7 @@ public class BSTSortedMap<K extends Comparable<K>, V> extends BTree<Map.Entry<K,
         BTNode<Entry<K, V>> newNode = createNode(newEntry, parent);
         if (cmp < 0) parent.setLeftChild(newNode);
         else parent.setRightChild(newNode);
+        currentSize++;
 
         return null;
     }
@@ -132,7 +217,16 @@ public class BSTSortedMap<K extends Comparable<K>, V> extends BTree<Map.Entry<K,
         BTNode<Entry<K, V>> node = getNode((BTNode<Entry<K, V>>) root, key);
         if (node == null) return null;
         V old = node.getElement().value();
+        removeNode(node);
+        return old;
+    }
 
+    /**
+     * Unlinks a node from the tree, replacing it by its successor if it has two children.
+     * @param node node to remove
+     * Time complexity: O(log n)
+     */
+    protected void removeNode(BTNode<Entry<K, V>> node) {
         // no left child
         if (node.getLeftChild() == null) {
             transplant(node, node.getRightChild());
@@ -153,8 +247,7 @@ public class BSTSortedMap<K extends Comparable<K>, V> extends BTree<Map.Entry<K,
             succ.setLeftChild(node.getLeftChild());
             ((BTNode<Entry<K, V>>) succ.getLeftChild()).setParent(succ);
         }
-
-        return old;
+        currentSize--;
     }
 
     /**
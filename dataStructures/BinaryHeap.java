@@ -0,0 +1,146 @@
+package dataStructures;
+
+import dataStructures.exceptions.*;
+
+/**
+ * Priority queue implemented as a binary min-heap stored in an array.
+ * The array grows when full.
+ *
+ * @param <E> Generic Element
+ */
+public class BinaryHeap<E> implements PriorityQueue<E> {
+
+    /** Default initial capacity */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** Heap array: the children of position i are at 2i+1 and 2i+2 */
+    private E[] heap;
+
+    /** Number of elements in the heap */
+    private int counter;
+
+    /** Order of the elements: the smallest is served first */
+    private final Comparator<E> comparator;
+
+    /**
+     * Constructor with the default capacity.
+     * @param comparator order of the elements
+     */
+    public BinaryHeap(Comparator<E> comparator) {
+        this(comparator, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor with a given initial capacity.
+     * @param comparator order of the elements
+     * @param capacity initial capacity
+     */
+    @SuppressWarnings("unchecked")
+    public BinaryHeap(Comparator<E> comparator, int capacity) {
+        this.comparator = comparator;
+        heap = (E[]) new Object[Math.max(capacity, 1)];
+        counter = 0;
+    }
+
+    /**
+     * Returns true if the heap is empty.
+     *
+     * Time complexity: O(1)
+     * @return true if there are no elements
+     */
+    @Override
+    public boolean isEmpty() {
+        return counter == 0;
+    }
+
+    /**
+     * Returns the number of elements in the heap.
+     *
+     * Time complexity: O(1)
+     * @return number of elements
+     */
+    @Override
+    public int size() {
+        return counter;
+    }
+
+    /**
+     * Inserts an element, sifting it up to its place.
+     *
+     * Time complexity: O(log n) amortized
+     * @param element element to insert
+     */
+    @Override
+    public void insert(E element) {
+        if (counter == heap.length) grow();
+        int pos = counter++;
+        while (pos > 0) {
+            int parent = (pos - 1) / 2;
+            if (comparator.compare(element, heap[parent]) >= 0) break;
+            heap[pos] = heap[parent];
+            pos = parent;
+        }
+        heap[pos] = element;
+    }
+
+    /**
+     * Returns the smallest element.
+     *
+     * Time complexity: O(1)
+     * @return smallest element
+     * @throws EmptyQueueException if the heap is empty
+     */
+    @Override
+    public E min() {
+        if (isEmpty()) throw new EmptyQueueException();
+        return heap[0];
+    }
+
+    /**
+     * Removes and returns the smallest element, sifting the last element down from the root.
+     *
+     * Time complexity: O(log n)
+     * @return smallest element
+     * @throws EmptyQueueException if the heap is empty
+     */
+    @Override
+    public E removeMin() {
+        if (isEmpty()) throw new EmptyQueueException();
+        E min = heap[0];
+        E last = heap[--counter];
+        heap[counter] = null;
+        if (counter > 0) siftDown(last);
+        return min;
+    }
+
+    /**
+     * Places the element in the hole at the root, moving smaller children up.
+     *
+     * Time complexity: O(log n)
+     * @param element element to place
+     */
+    private void siftDown(E element) {
+        int pos = 0;
+        int half = counter / 2;
+        while (pos < half) {
+            int child = 2 * pos + 1;
+            if (child + 1 < counter && comparator.compare(heap[child + 1], heap[child]) < 0) child++;
+            if (comparator.compare(element, heap[child]) <= 0) break;
+            heap[pos] = heap[child];
+            pos = child;
+        }
+        heap[pos] = element;
+    }
+
+    /**
+     * Doubles the capacity of the heap array.
+     *
+     * Time complexity: O(n)
+     */
+    @SuppressWarnings("unchecked")
+    private void grow() {
+        E[] bigger = (E[]) new Object[heap.length * 2];
+        System.arraycopy(heap, 0, bigger, 0, counter);
+        heap = bigger;
+    }
+}
@@ -0,0 +1,216 @@
+package dataStructures;
+
+/**
+ * Map with a Bloom filter in front of it
+ * Wraps another map and keeps its keys in a counting Bloom filter, so a get of
+ * an absent key usually returns without probing the map. The filter doubles
+ * its capacity, rebuilt from the keys of the map, when the map outgrows it.
+ * It also counts lookups, filtered misses and false positives (absent keys the
+ * filter let through). Hash table statistics are those of the wrapped map.
+ *
+ * @param <K> Generic Key
+ * @param <V> Generic Value
+ */
+public class BloomFilteredMap<K,V> implements InstrumentedMap<K,V> {
+
+    private static final long serialVersionUID = 0L;
+
+    /** Wrapped map */
+    private final Map<K,V> map;
+
+    /** Filter of the keys of the map */
+    private CountingBloomFilter<K> filter;
+
+    /** Number of calls to get */
+    private long lookups;
+
+    /** Lookups answered by the filter alone */
+    private long filteredMisses;
+
+    /** Lookups the filter let through for keys not in the map */
+    private long falsePositives;
+
+    /**
+     * Constructor
+     *
+     * @param map map to wrap (its keys are added to the filter)
+     * @param capacity expected number of keys
+     * Time complexity: O(capacity + n)
+     */
+    public BloomFilteredMap(Map<K,V> map, int capacity) {
+        this.map = map;
+        rebuildFilter(Math.max(capacity, map.size()));
+    }
+
+    /**
+     * Replaces the filter by one with the given capacity holding the keys of the map.
+     *
+     * @param capacity expected number of keys
+     * Time complexity: O(capacity + n)
+     */
+    private void rebuildFilter(int capacity) {
+        filter = new CountingBloomFilter<>(capacity);
+        Iterator<K> it = map.keys();
+        while (it.hasNext()) filter.add(it.next());
+    }
+
+    /**
+     * Returns true iff the map contains no entries.
+     *
+     * Time complexity: O(1)
+     * @return true if the map is empty
+     */
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    /**
+     * Returns the number of entries in the map.
+     *
+     * Time complexity: O(1)
+     * @return number of entries
+     */
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * Returns the value associated with the key, or null if there is none.
+     *
+     * Time complexity: O(1) for a filtered miss, the cost of the wrapped get otherwise
+     * @param key key to search
+     * @return value associated with key or null
+     */
+    public V get(K key) {
+        lookups++;
+        if (!filter.mightContain(key)) {
+            filteredMisses++;
+            return null;
+        }
+        V value = map.get(key);
+        if (value == null) falsePositives++;
+        return value;
+    }
+
+    /**
+     * Inserts or updates the key with the given value.
+     *
+     * Time complexity: the cost of the wrapped put, O(n) amortized when the filter grows
+     * @param key key to insert/update
+     * @param value value to associate
+     * @return previous value associated with key, or null
+     */
+    public V put(K key, V value) {
+        V old = map.put(key, value);
+        if (old == null) {
+            filter.add(key);
+            if (map.size() > filter.capacity()) rebuildFilter(filter.capacity() * 2);
+        }
+        return old;
+    }
+
+    /**
+     * Removes the entry with the key.
+     *
+     * Time complexity: the cost of the wrapped remove
+     * @param key key to remove
+     * @return removed value, or null if key not found
+     */
+    public V remove(K key) {
+        if (!filter.mightContain(key)) return null;
+        V old = map.remove(key);
+        if (old != null) filter.remove(key);
+        return old;
+    }
+
+    /**
+     * Returns an iterator over the entries of the wrapped map.
+     *
+     * Time complexity: O(1)
+     * @return iterator of entries
+     */
+    public Iterator<Entry<K,V>> iterator() {
+        return map.iterator();
+    }
+
+    /**
+     * Returns an iterator over the values of the wrapped map.
+     *
+     * Time complexity: O(1)
+     * @return iterator of values
+     */
+    public Iterator<V> values() {
+        return map.values();
+    }
+
+    /**
+     * Returns an iterator over the keys of the wrapped map.
+     *
+     * Time complexity: O(1)
+     * @return iterator of keys
+     */
+    public Iterator<K> keys() {
+        return map.keys();
+    }
+
+    /**
+     * Enables or disables the statistics of the wrapped map, if it has them.
+     *
+     * Time complexity: O(1)
+     * @param enabled true to gather statistics
+     */
+    public void setStatisticsEnabled(boolean enabled) {
+        if (map instanceof InstrumentedMap<K,V> instrumented) instrumented.setStatisticsEnabled(enabled);
+    }
+
+    /**
+     * Returns the statistics of the wrapped map.
+     *
+     * Time complexity: O(1)
+     * @return statistics, or null if they are disabled or the wrapped map has none
+     */
+    public HashTableStatistics getStatistics() {
+        return map instanceof InstrumentedMap<K,V> instrumented ? instrumented.getStatistics() : null;
+    }
+
+    /**
+     * Returns the number of calls to get.
+     *
+     * Time complexity: O(1)
+     * @return number of lookups
+     */
+    public long lookups() {
+        return lookups;
+    }
+
+    /**
+     * Returns the number of lookups answered by the filter without probing the map.
+     *
+     * Time complexity: O(1)
+     * @return number of filtered misses
+     */
+    public long filteredMisses() {
+        return filteredMisses;
+    }
+
+    /**
+     * Returns the number of lookups of absent keys that the filter did not stop.
+     *
+     * Time complexity: O(1)
+     * @return number of false positives
+     */
+    public long falsePositives() {
+        return falsePositives;
+    }
+
+    /**
+     * Returns the fraction of lookups of absent keys that the filter did not stop.
+     *
+     * Time complexity: O(1)
+     * @return false positive rate, 0 if no absent key was looked up
+     */
+    public double falsePositiveRate() {
+        long misses = filteredMisses + falsePositives;
+        return misses == 0 ? 0 : (double) falsePositives / misses;
+    }
+}
@@ -0,0 +1,112 @@
+package dataStructures;
+
+import java.io.Serializable;
+
+/**
+ * Case Insensitive String
+ * Key that wraps a string and compares, hashes and orders it ignoring case,
+ * one character at a time, so looking up a name typed in any case needs no
+ * lower-cased copy of it. The wrapped string keeps its original case.
+ */
+public final class CaseInsensitiveString implements Comparable<CaseInsensitiveString>, Serializable {
+
+    private static final long serialVersionUID = 0L;
+
+    /** Wrapped string, in its original case */
+    private final String value;
+
+    /** Cached hash code (0 until computed) */
+    private transient int hash;
+
+    /**
+     * Constructor
+     *
+     * @param value string to wrap
+     * Time complexity: O(1)
+     */
+    public CaseInsensitiveString(String value) {
+        this.value = value;
+    }
+
+    /**
+     * Folds the case of a character the same way String.compareToIgnoreCase does.
+     *
+     * @param c character
+     * @return case-folded character
+     * Time complexity: O(1)
+     */
+    private static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    /**
+     * Returns the hash code of the case-folded characters.
+     *
+     * @return hash code, equal for strings differing only in case
+     * Time complexity: O(n) the first time, O(1) afterwards
+     */
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            for (int i = 0; i < value.length(); i++)
+                h = 31 * h + fold(value.charAt(i));
+            hash = h;
+        }
+        return h;
+    }
+
+    /**
+     * Returns true iff the other object wraps a string equal to this one ignoring case.
+     *
+     * @param obj object to compare with
+     * @return true if both strings are equal ignoring case
+     * Time complexity: O(n)
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof CaseInsensitiveString other)) return false;
+        if (value.length() != other.value.length()) return false;
+        if (hash != 0 && other.hash != 0 && hash != other.hash) return false;
+        for (int i = 0; i < value.length(); i++) {
+            char a = value.charAt(i);
+            char b = other.value.charAt(i);
+            if (a != b && fold(a) != fold(b)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Compares the case-folded characters lexicographically.
+     *
+     * @param other string to compare with
+     * @return negative, zero or positive as this string is before, equal to or after other
+     * Time complexity: O(n)
+     */
+    @Override
+    public int compareTo(CaseInsensitiveString other) {
+        int n = Math.min(value.length(), other.value.length());
+        for (int i = 0; i < n; i++) {
+            char a = value.charAt(i);
+            char b = other.value.charAt(i);
+            if (a != b) {
+                a = fold(a);
+                b = fold(b);
+                if (a != b) return a - b;
+            }
+        }
+        return value.length() - other.value.length();
+    }
+
+    /**
+     * Returns the wrapped string, in its original case.
+     *
+     * @return wrapped string
+     * Time complexity: O(1)
+     */
+    @Override
+    public String toString() {
+        return value;
+    }
+}
@@ -4,6 +4,10 @@ import dataStructures.exceptions.*;
 
 /**
  * Closed Hash Table (Open Addressing)
+ * Linear probing with Robin Hood displacement: an entry never sits further
+ * from its home slot than the entries it passed, which bounds probe lengths
+ * and lets unsuccessful searches stop early. Removals shift entries back
+ * instead of leaving removed cells.
  *
  * @author AED Team
  * @version 1.0
@@ -15,11 +19,28 @@ public class ClosedHashTable<K,V> extends HashTable<K,V> {
     static final float IDEAL_LOAD_FACTOR = 0.5f;
     static final float MAX_LOAD_FACTOR = 0.8f;
     static final int NOT_FOUND = -1;
-    static final Entry<?,?> REMOVED_CELL = new Entry<>(null, null);
+
+    /** Number of old slots emptied into the new table by each update, in incremental mode */
+    static final int MIGRATION_STEP = 4;
 
     /** Array of entries */
     private Entry<K,V>[] table;
 
+    /** Longest distance of an entry from its home slot since the last rehash */
+    private int maxProbe;
+
+    /** If true, rehashing moves the entries a few slots at a time instead of all at once */
+    private final boolean incremental;
+
+    /** Table being emptied into table during an incremental rehash, or null */
+    private Entry<K,V>[] oldTable;
+
+    /** Longest probe distance in oldTable */
+    private int oldMaxProbe;
+
+    /** Slots of oldTable below this index have already been emptied */
+    private int migrated;
+
     /**
      * Default constructor
      * Time complexity: O(n)
@@ -34,56 +55,120 @@ public class ClosedHashTable<K,V> extends HashTable<K,V> {
      * @param capacity initial capacity
      * Time complexity: O(n)
      */
-    @SuppressWarnings("unchecked")
     public ClosedHashTable(int capacity) {
+        this(capacity, false);
+    }
+
+    /**
+     * Constructor with capacity and resize mode.
+     * In incremental mode the put that crosses the load factor only allocates the
+     * new table; every later put and remove empties MIGRATION_STEP slots of the old
+     * one, so no single update pays for the whole rehash.
+     *
+     * @param capacity initial capacity
+     * @param incremental true to spread rehashing over later updates
+     * Time complexity: O(n)
+     */
+    @SuppressWarnings("unchecked")
+    public ClosedHashTable(int capacity, boolean incremental) {
         super(capacity);
+        this.incremental = incremental;
         int arraySize = HashTable.nextPrime((int) (capacity / IDEAL_LOAD_FACTOR));
         table = (Entry<K,V>[]) new Entry[arraySize];
         for (int i = 0; i < arraySize; i++)
             table[i] = null;
         maxSize = (int) (arraySize * MAX_LOAD_FACTOR);
+        maxProbe = 0;
     }
 
     /**
-     * Computes the hash for a given key and probing step
+     * Computes the home slot of a key (never negative, even for Integer.MIN_VALUE)
      *
      * @param key key to hash
-     * @param i probing step
-     * @return hash position
+     * @return first slot of the probe sequence of key
+     * Time complexity: O(1)
+     */
+    int hash(K key) {
+        return hash(table, key);
+    }
+
+    /**
+     * Computes the home slot of a key in the given array
+     * Time complexity: O(1)
+     */
+    private static <K,V> int hash(Entry<K,V>[] entries, K key) {
+        return (key.hashCode() & 0x7FFFFFFF) % entries.length;
+    }
+
+    /**
+     * Returns how far the entry at the given slot is from its home slot
+     *
+     * @param entries array of entries
+     * @param idx occupied slot
+     * @return probe distance of the entry
      * Time complexity: O(1)
      */
-    int hash(K key, int i) {
-        return Math.abs(key.hashCode() + i) % table.length;
+    private static <K,V> int probeDistance(Entry<K,V>[] entries, int idx) {
+        int home = hash(entries, entries[idx].key());
+        return idx >= home ? idx - home : idx + entries.length - home;
     }
 
     /**
-     * Searches for a key using linear probing
+     * Searches for a key using linear probing. Entries are kept in Robin Hood
+     * order, so the search stops at the first entry closer to its home slot
+     * than the key would be, or after maxProbe slots.
      *
+     * @param entries array of entries
+     * @param maxProbe longest probe distance in entries
      * @param key key to search
-     * @return index in table or NOT_FOUND
-     * Time complexity: O(n)
+     * @return index in entries or NOT_FOUND
+     * Time complexity: O(1) expected, O(maxProbe) worst case
      */
-    int searchLinearProving(K key) {
-        for (int i = 0; i < table.length; i++) {
-            int idx = hash(key, i);
-            Entry<K,V> e = table[idx];
-            if (e == null) return NOT_FOUND;
-            if (e == REMOVED_CELL) continue;
+    private static <K,V> int search(Entry<K,V>[] entries, int maxProbe, K key) {
+        int idx = hash(entries, key);
+        for (int i = 0; i <= maxProbe; i++) {
+            Entry<K,V> e = entries[idx];
+            if (e == null || probeDistance(entries, idx) < i) return NOT_FOUND;
             if (e.key().equals(key)) return idx;
+            if (++idx == entries.length) idx = 0;
         }
         return NOT_FOUND;
     }
 
+    /**
+     * Searches for a key in the current table
+     *
+     * @param key key to search
+     * @return index in table or NOT_FOUND
+     * Time complexity: O(1) expected, O(maxProbe) worst case
+     */
+    int searchLinearProving(K key) {
+        return search(table, maxProbe, key);
+    }
+
+    /**
+     * Searches for a key in the old table, during an incremental rehash
+     *
+     * @param key key to search
+     * @return index in oldTable or NOT_FOUND (also if there is no old table)
+     * Time complexity: O(1) expected
+     */
+    private int searchOld(K key) {
+        return oldTable == null ? NOT_FOUND : search(oldTable, oldMaxProbe, key);
+    }
+
     /**
      * Returns the value associated with a key, or null if not found
      *
      * @param key key to search
      * @return value associated with key or null
-     * Time complexity: O(n)
+     * Time complexity: O(1) expected
      */
     @Override
     public V get(K key) {
-        int idx = searchLinearProving(key);
+        int idx = searchOld(key);
+        if (idx != NOT_FOUND) return oldTable[idx].value();
+        idx = searchLinearProving(key);
         if (idx == NOT_FOUND) return null;
         return table[idx].value();
     }
@@ -94,70 +179,118 @@ public class ClosedHashTable<K,V> extends HashTable<K,V> {
      * @param key key to insert/update
      * @param value value to associate
      * @return old value if replaced, or null
-     * Time complexity: O(n)
+     * Time complexity: O(1) expected, O(n) when the table grows, unless incremental
      */
     @Override
     public V put(K key, V value) {
-        if (isFull()) rehash();
+        if (oldTable != null) migrate(MIGRATION_STEP);
 
-        int firstRemoved = NOT_FOUND;
-        for (int i = 0; i < table.length; i++) {
-            int idx = hash(key, i);
-            Entry<K,V> e = table[idx];
-
-            if (e == null) {
-                int insertIdx = (firstRemoved != NOT_FOUND) ? firstRemoved : idx;
-                table[insertIdx] = new Entry<>(key, value);
-                currentSize++;
-                return null;
-            }
-            if (e == REMOVED_CELL) {
-                if (firstRemoved == NOT_FOUND) firstRemoved = idx;
-                continue;
-            }
-            if (e.key().equals(key)) {
-                V old = e.value();
-                table[idx] = new Entry<>(key, value);
-                return old;
-            }
+        int idx = searchOld(key);
+        if (idx != NOT_FOUND) {
+            V old = oldTable[idx].value();
+            oldTable[idx] = new Entry<>(key, value);
+            return old;
         }
-
-        if (firstRemoved != NOT_FOUND) {
-            table[firstRemoved] = new Entry<>(key, value);
-            currentSize++;
-            return null;
+        idx = searchLinearProving(key);
+        if (idx != NOT_FOUND) {
+            V old = table[idx].value();
+            table[idx] = new Entry<>(key, value);
+            return old;
         }
 
-        return put(key, value);
+        if (isFull()) rehash();
+        insert(new Entry<>(key, value));
+        currentSize++;
+        return null;
     }
 
     /**
-     * Rehashes the table by expanding and reinserting all entries
-     * Time complexity: O(n)
+     * Places an entry whose key is not in the table. Walking from its home slot,
+     * the entry takes the place of the first entry that is closer to its own home
+     * slot, which then goes on looking for a place (Robin Hood hashing).
+     *
+     * @param entry entry to place
+     * Time complexity: O(1) expected
      */
+    private void insert(Entry<K,V> entry) {
+        int idx = hash(entry.key());
+        int distance = 0;
+        while (table[idx] != null) {
+            int existing = probeDistance(table, idx);
+            if (existing < distance) {
+                Entry<K,V> displaced = table[idx];
+                table[idx] = entry;
+                if (distance > maxProbe) maxProbe = distance;
+                entry = displaced;
+                distance = existing;
+            }
+            if (++idx == table.length) idx = 0;
+            distance++;
+        }
+        table[idx] = entry;
+        if (distance > maxProbe) maxProbe = distance;
+    }
+
+    /**
+     * Rehashes the table by expanding it. The entries are reinserted at once,
+     * or later by migrate in incremental mode.
+     * Time complexity: O(n), O(1) in incremental mode
+     */
+    @SuppressWarnings("unchecked")
     private void rehash() {
-        int oldLen = table.length;
-        int proposed = Math.max(3, oldLen * 2);
+        long start = rehashStarted();
+        if (oldTable != null) migrate(oldTable.length);
+
+        int proposed = Math.max(3, table.length * 2);
         int newLen = HashTable.nextPrime(proposed);
         if (newLen == 0) newLen = proposed;
 
-        @SuppressWarnings("unchecked")
-        Entry<K,V>[] newTable = (Entry<K,V>[]) new Entry[newLen];
-
-        for (Entry<K, V> e : table) {
-            if (e == null || e == REMOVED_CELL) continue;
-            K key = e.key();
-            for (int j = 0; j < newTable.length; j++) {
-                int idx = Math.abs(key.hashCode() + j) % newTable.length;
-                if (newTable[idx] == null) {
-                    newTable[idx] = new Entry<>(key, e.value());
-                    break;
-                }
+        oldTable = table;
+        oldMaxProbe = maxProbe;
+        migrated = 0;
+        table = (Entry<K,V>[]) new Entry[newLen];
+        maxProbe = 0;
+        maxSize = (int) (table.length * MAX_LOAD_FACTOR);
+        if (!incremental) migrate(oldTable.length);
+        rehashEnded(start);
+    }
+
+    /**
+     * Empties up to the given number of slots of the old table into the current
+     * one, dropping the old table once it is empty. Each entry leaves the old
+     * table by backward shift, so the remaining ones can still be found there.
+     *
+     * Time complexity: O(slots) expected
+     * @param slots maximum number of old slots to empty
+     */
+    private void migrate(int slots) {
+        int end = Math.min(oldTable.length, migrated + slots);
+        for (; migrated < end; migrated++) {
+            Entry<K,V> e;
+            while ((e = oldTable[migrated]) != null) {
+                removeAt(oldTable, migrated);
+                insert(e);
             }
         }
+        if (migrated == oldTable.length) oldTable = null;
+    }
 
-        table = newTable;
-        maxSize = (int) (table.length * MAX_LOAD_FACTOR);
+    /**
+     * Empties a slot, shifting the following entries of the cluster that are
+     * not in their home slot one slot back, so no removed cells are left behind.
+     *
+     * @param entries array of entries
+     * @param idx occupied slot
+     * Time complexity: O(1) expected
+     */
+    private static <K,V> void removeAt(Entry<K,V>[] entries, int idx) {
+        int next = idx + 1 == entries.length ? 0 : idx + 1;
+        while (entries[next] != null && probeDistance(entries, next) > 0) {
+            entries[idx] = entries[next];
+            idx = next;
+            if (++next == entries.length) next = 0;
+        }
+        entries[idx] = null;
     }
 
     /**
@@ -165,21 +298,51 @@ public class ClosedHashTable<K,V> extends HashTable<K,V> {
      *
      * @param key key to remove
      * @return old value associated with key, or null
-     * Time complexity: O(n)
+     * Time complexity: O(1) expected
      */
     @Override
     public V remove(K key) {
-        int idx = searchLinearProving(key);
-        if (idx == NOT_FOUND) return null;
+        if (oldTable != null) migrate(MIGRATION_STEP);
 
-        V old = table[idx].value();
-        @SuppressWarnings("unchecked")
-        Entry<K,V> removedMarker = (Entry<K,V>) REMOVED_CELL;
-        table[idx] = removedMarker;
+        Entry<K,V>[] entries = oldTable;
+        int idx = searchOld(key);
+        if (idx == NOT_FOUND) {
+            entries = table;
+            idx = searchLinearProving(key);
+            if (idx == NOT_FOUND) return null;
+        }
+
+        V old = entries[idx].value();
+        removeAt(entries, idx);
         currentSize--;
         return old;
     }
 
+    /**
+     * Returns the number of slots, those of the old table included.
+     *
+     * Time complexity: O(1)
+     * @return number of slots
+     */
+    protected int slotCount() {
+        return table.length + (oldTable == null ? 0 : oldTable.length);
+    }
+
+    /**
+     * Counts the entries at each distance from their home slot.
+     * (Removals shift entries back, so the table never holds removed cells.)
+     *
+     * Time complexity: O(number of slots)
+     * @param histogram histogram of probe distances
+     */
+    protected void fillLengthHistogram(int[] histogram) {
+        if (oldTable != null)
+            for (int i = 0; i < oldTable.length; i++)
+                if (oldTable[i] != null) count(histogram, probeDistance(oldTable, i));
+        for (int i = 0; i < table.length; i++)
+            if (table[i] != null) count(histogram, probeDistance(table, i));
+    }
+
     /**
      * Returns an iterator over the entries
      *
@@ -193,9 +356,16 @@ public class ClosedHashTable<K,V> extends HashTable<K,V> {
 
     /**
      * Iterator for ClosedHashTable
+     * During an incremental rehash it goes through the old table and then the new one.
      */
     private class ClosedHashTableIterator implements Iterator<Entry<K,V>> {
 
+        /** Old table when the iteration started (null if none) */
+        private Entry<K,V>[] first;
+
+        /** Current table when the iteration started */
+        private Entry<K,V>[] second;
+
         private int index;
 
         /**
@@ -206,6 +376,23 @@ public class ClosedHashTable<K,V> extends HashTable<K,V> {
             rewind();
         }
 
+        /**
+         * Returns the number of slots in both tables
+         * Time complexity: O(1)
+         */
+        private int slots() {
+            return (first == null ? 0 : first.length) + second.length;
+        }
+
+        /**
+         * Returns the entry at the given position of the old table followed by the new one
+         * Time complexity: O(1)
+         */
+        private Entry<K,V> slot(int i) {
+            if (first == null) return second[i];
+            return i < first.length ? first[i] : second[i - first.length];
+        }
+
         /**
          * Returns true if there is a next entry
          *
@@ -214,7 +401,16 @@ public class ClosedHashTable<K,V> extends HashTable<K,V> {
          */
         @Override
         public boolean hasNext() {
-            return index < table.length;
+            return index < slots();
+        }
+
+        /**
+         * Advances index to the first occupied slot at or after it
+         * Time complexity: O(n)
+         */
+        private void advance() {
+            while (index < slots() && slot(index) == null)
+                index++;
         }
 
         /**
@@ -226,12 +422,10 @@ public class ClosedHashTable<K,V> extends HashTable<K,V> {
          */
         @Override
         public Entry<K,V> next() {
-            while (index < table.length) {
-                Entry<K,V> e = table[index++];
-                if (e != null && e != REMOVED_CELL)
-                    return e;
-            }
-            throw new NoSuchElementException();
+            if (!hasNext()) throw new NoSuchElementException();
+            Entry<K,V> e = slot(index++);
+            advance();
+            return e;
         }
 
         /**
@@ -240,9 +434,10 @@ public class ClosedHashTable<K,V> extends HashTable<K,V> {
          */
         @Override
         public void rewind() {
+            first = oldTable;
+            second = table;
             index = 0;
-            while (index < table.length && (table[index] == null || table[index] == REMOVED_CELL))
-                index++;
+            advance();
         }
     }
 }
@@ -0,0 +1,148 @@
+package dataStructures;
+
+import java.io.Serializable;
+
+/**
+ * Counting Bloom Filter
+ * Approximate set of elements that answers "definitely absent" or "maybe present".
+ * Each element increments HASH_FUNCTIONS counters chosen from its hash code by
+ * double hashing; an element is maybe present only if all its counters are
+ * positive. Counters, unlike bits, can be decremented, so elements can be removed.
+ * A counter that reaches its maximum stays there, which may only cause false
+ * positives, never false negatives.
+ *
+ * @param <E> Generic Element
+ */
+public class CountingBloomFilter<E> implements Serializable {
+
+    private static final long serialVersionUID = 0L;
+
+    /** Counters per expected element (about 1% false positives when full) */
+    static final int COUNTERS_PER_ELEMENT = 10;
+
+    /** Number of counters updated per element */
+    static final int HASH_FUNCTIONS = 7;
+
+    /** Value of a saturated counter, which is never decremented */
+    static final int MAX_COUNT = 0xFF;
+
+    /** Counters, read as unsigned bytes; the length is a power of two */
+    private final byte[] counters;
+
+    /** Number of elements the filter was sized for */
+    private final int capacity;
+
+    /** Number of elements in the filter */
+    private int currentSize;
+
+    /**
+     * Constructor of an empty filter.
+     *
+     * @param capacity expected number of elements
+     * Time complexity: O(capacity)
+     */
+    public CountingBloomFilter(int capacity) {
+        this.capacity = Math.max(capacity, 1);
+        long wanted = (long) this.capacity * COUNTERS_PER_ELEMENT;
+        int length = 1;
+        while (length < wanted && length < (1 << 30)) length <<= 1;
+        counters = new byte[length];
+        currentSize = 0;
+    }
+
+    /**
+     * Returns the number of elements the filter was sized for; beyond it
+     * the false positive rate grows.
+     *
+     * @return expected number of elements
+     * Time complexity: O(1)
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of elements in the filter.
+     *
+     * @return number of elements added and not removed
+     * Time complexity: O(1)
+     */
+    public int size() {
+        return currentSize;
+    }
+
+    /**
+     * Returns the first hash of an element (a mixed hash code).
+     * Time complexity: O(1)
+     */
+    private static int firstHash(int hashCode) {
+        int h = hashCode * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Returns the step between the counters of an element (odd, so with a
+     * power of two length the counters are distinct).
+     * Time complexity: O(1)
+     */
+    private static int secondHash(int hashCode) {
+        int h = hashCode * 0x85EBCA6B;
+        return (h ^ (h >>> 13)) | 1;
+    }
+
+    /**
+     * Adds an element.
+     *
+     * @param element element to add
+     * Time complexity: O(1)
+     */
+    public void add(E element) {
+        int hashCode = element.hashCode();
+        int idx = firstHash(hashCode);
+        int step = secondHash(hashCode);
+        int mask = counters.length - 1;
+        for (int i = 0; i < HASH_FUNCTIONS; i++, idx += step) {
+            int c = counters[idx & mask] & 0xFF;
+            if (c < MAX_COUNT) counters[idx & mask] = (byte) (c + 1);
+        }
+        currentSize++;
+    }
+
+    /**
+     * Removes an element.
+     *
+     * @pre the element was added and not removed since
+     * @param element element to remove
+     * Time complexity: O(1)
+     */
+    public void remove(E element) {
+        int hashCode = element.hashCode();
+        int idx = firstHash(hashCode);
+        int step = secondHash(hashCode);
+        int mask = counters.length - 1;
+        for (int i = 0; i < HASH_FUNCTIONS; i++, idx += step) {
+            int c = counters[idx & mask] & 0xFF;
+            if (c > 0 && c < MAX_COUNT) counters[idx & mask] = (byte) (c - 1);
+        }
+        currentSize--;
+    }
+
+    /**
+     * Returns false if the element is certainly not in the filter,
+     * true if it may be.
+     *
+     * @param element element to test
+     * @return false for a definite miss
+     * Time complexity: O(1)
+     */
+    public boolean mightContain(E element) {
+        int hashCode = element.hashCode();
+        int idx = firstHash(hashCode);
+        int step = secondHash(hashCode);
+        int mask = counters.length - 1;
+        for (int i = 0; i < HASH_FUNCTIONS; i++, idx += step) {
+            if (counters[idx & mask] == 0) return false;
+        }
+        return true;
+    }
+}
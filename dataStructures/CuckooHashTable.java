@@ -0,0 +1,485 @@
+package dataStructures;
+
+import dataStructures.exceptions.*;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+
+/**
+ * Cuckoo Hash Table
+ * Every key has one slot in each of two tables, given by two seeded hash
+ * functions, and is always stored in one of them or in a small stash, so a
+ * lookup probes at most two slots plus the stash (which is almost always
+ * empty). An insertion that finds both slots taken evicts the key of the first
+ * table, which moves to its slot in the other table, possibly evicting another
+ * key, and so on. When this goes on for too long the homeless key goes to the
+ * stash; when the stash is full the tables are rebuilt with new seeds. Should
+ * that keep failing (too many keys with the same hash codes) the stash itself
+ * grows, at the cost of slower lookups.
+ *
+ * @param <K> Generic Key
+ * @param <V> Generic Value
+ */
+public class CuckooHashTable<K,V> extends HashTable<K,V> {
+
+    /** Maximum fraction of the slots of both tables in use */
+    static final float MAX_LOAD_FACTOR = 0.45f;
+
+    /** Number of keys the stash can hold */
+    static final int STASH_SIZE = 4;
+
+    /** Rebuilds with new seeds tried before growing the stash */
+    static final int REBUILDS_BEFORE_GROWING_STASH = 3;
+
+    /** Keys, values and cached hash codes of the first table (null key marks an empty slot) */
+    private transient K[] keys1;
+    private transient V[] values1;
+    private transient int[] hashes1;
+
+    /** Keys, values and cached hash codes of the second table */
+    private transient K[] keys2;
+    private transient V[] values2;
+    private transient int[] hashes2;
+
+    /** Keys, values and cached hash codes of the stash, in its first stashSize positions */
+    private transient K[] stashKeys;
+    private transient V[] stashValues;
+    private transient int[] stashHashes;
+    private transient int stashSize;
+
+    /** Seeds of the two hash functions */
+    private transient int seed1;
+    private transient int seed2;
+
+    /** State of the xorshift generator of seeds */
+    private transient long random;
+
+    /** Maximum number of evictions of an insertion */
+    private transient int maxKicks;
+
+    /** Entry left without a slot by a failed insertion */
+    private transient K homelessKey;
+    private transient V homelessValue;
+    private transient int homelessHash;
+
+    /**
+     * Default constructor
+     * Time complexity: O(n)
+     */
+    public CuckooHashTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor with capacity
+     *
+     * @param capacity initial capacity
+     * Time complexity: O(n)
+     */
+    public CuckooHashTable(int capacity) {
+        super(capacity);
+        random = System.nanoTime() | 1;
+        allocate(tableLength((int) (Math.max(capacity, 1) / (2 * MAX_LOAD_FACTOR))), STASH_SIZE);
+    }
+
+    /**
+     * Returns the smallest power of two not less than the given number.
+     * Time complexity: O(1)
+     */
+    private static int tableLength(int minimum) {
+        if (minimum >= (1 << 29)) return 1 << 29;
+        return minimum <= 2 ? 2 : Integer.highestOneBit(minimum - 1) << 1;
+    }
+
+    /**
+     * Allocates two empty tables with the given length, an empty stash and new seeds.
+     *
+     * @param length number of slots of each table
+     * @param stashLength number of slots of the stash
+     * Time complexity: O(length)
+     */
+    @SuppressWarnings("unchecked")
+    private void allocate(int length, int stashLength) {
+        keys1 = (K[]) new Object[length];
+        values1 = (V[]) new Object[length];
+        hashes1 = new int[length];
+        keys2 = (K[]) new Object[length];
+        values2 = (V[]) new Object[length];
+        hashes2 = new int[length];
+        stashKeys = (K[]) new Object[stashLength];
+        stashValues = (V[]) new Object[stashLength];
+        stashHashes = new int[stashLength];
+        stashSize = 0;
+        seed1 = nextSeed();
+        seed2 = nextSeed();
+        maxKicks = 8 + 2 * Integer.numberOfTrailingZeros(length);
+        maxSize = (int) (2 * length * MAX_LOAD_FACTOR);
+    }
+
+    /**
+     * Draws a seed from the xorshift generator.
+     * Time complexity: O(1)
+     */
+    private int nextSeed() {
+        random ^= random << 13;
+        random ^= random >>> 7;
+        random ^= random << 17;
+        return (int) (random >>> 32);
+    }
+
+    /**
+     * Slot of a hash code in the first table.
+     * Time complexity: O(1)
+     */
+    private int slot1(int hashCode) {
+        int h = (hashCode ^ seed1) * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & (keys1.length - 1);
+    }
+
+    /**
+     * Slot of a hash code in the second table.
+     * Time complexity: O(1)
+     */
+    private int slot2(int hashCode) {
+        int h = (hashCode ^ seed2) * 0x85EBCA6B;
+        return (h ^ (h >>> 13)) & (keys2.length - 1);
+    }
+
+    /**
+     * Returns the position of a key in the stash, or -1 if it is not there.
+     * Time complexity: O(stash size)
+     */
+    private int stashIndexOf(K key, int hashCode) {
+        for (int i = 0; i < stashSize; i++)
+            if (stashHashes[i] == hashCode && stashKeys[i].equals(key)) return i;
+        return -1;
+    }
+
+    /**
+     * Returns the value associated with a key, or null if not found
+     *
+     * @param key key to search
+     * @return value associated with key or null
+     * Time complexity: O(1) worst case
+     */
+    @Override
+    public V get(K key) {
+        int hashCode = key.hashCode();
+        int i = slot1(hashCode);
+        K k = keys1[i];
+        if (k != null && hashes1[i] == hashCode && k.equals(key)) return values1[i];
+        i = slot2(hashCode);
+        k = keys2[i];
+        if (k != null && hashes2[i] == hashCode && k.equals(key)) return values2[i];
+        if (stashSize > 0) {
+            i = stashIndexOf(key, hashCode);
+            if (i >= 0) return stashValues[i];
+        }
+        return null;
+    }
+
+    /**
+     * Inserts or updates a key-value pair
+     *
+     * @param key key to insert/update
+     * @param value value to associate
+     * @return old value if replaced, or null
+     * Time complexity: O(1) expected, O(n) when the tables are rebuilt
+     */
+    @Override
+    public V put(K key, V value) {
+        int hashCode = key.hashCode();
+        int i = slot1(hashCode);
+        if (keys1[i] != null && hashes1[i] == hashCode && keys1[i].equals(key)) {
+            V old = values1[i];
+            values1[i] = value;
+            return old;
+        }
+        i = slot2(hashCode);
+        if (keys2[i] != null && hashes2[i] == hashCode && keys2[i].equals(key)) {
+            V old = values2[i];
+            values2[i] = value;
+            return old;
+        }
+        i = stashIndexOf(key, hashCode);
+        if (i >= 0) {
+            V old = stashValues[i];
+            stashValues[i] = value;
+            return old;
+        }
+
+        if (isFull()) rebuild(keys1.length * 2, key, value, hashCode);
+        else if (!place(key, value, hashCode)) rebuild(keys1.length, homelessKey, homelessValue, homelessHash);
+        currentSize++;
+        return null;
+    }
+
+    /**
+     * Places an entry whose key is not in the table, evicting keys from slot to
+     * slot, and using the stash if that takes more than maxKicks evictions.
+     * On failure the entry left without a slot (maybe not the given one) is
+     * kept in homelessKey, homelessValue and homelessHash.
+     *
+     * @return true if every entry has a place
+     * Time complexity: O(1) expected, O(maxKicks) worst case
+     */
+    private boolean place(K key, V value, int hashCode) {
+        for (int kick = 0; kick < maxKicks; kick++) {
+            int i = slot1(hashCode);
+            K k1 = keys1[i];
+            V v1 = values1[i];
+            int h1 = hashes1[i];
+            keys1[i] = key;
+            values1[i] = value;
+            hashes1[i] = hashCode;
+            if (k1 == null) return true;
+
+            int j = slot2(h1);
+            key = keys2[j];
+            value = values2[j];
+            hashCode = hashes2[j];
+            keys2[j] = k1;
+            values2[j] = v1;
+            hashes2[j] = h1;
+            if (key == null) return true;
+        }
+        if (stashSize < stashKeys.length) {
+            stashKeys[stashSize] = key;
+            stashValues[stashSize] = value;
+            stashHashes[stashSize] = hashCode;
+            stashSize++;
+            return true;
+        }
+        homelessKey = key;
+        homelessValue = value;
+        homelessHash = hashCode;
+        return false;
+    }
+
+    /**
+     * Rebuilds the tables with the given length and new seeds, holding every
+     * entry plus one extra entry. Tries new seeds until every entry has a place,
+     * doubling the length of the stash every REBUILDS_BEFORE_GROWING_STASH attempts.
+     *
+     * @param length number of slots of each new table
+     * Time complexity: O(n) expected
+     */
+    private void rebuild(int length, K extraKey, V extraValue, int extraHash) {
+        long start = rehashStarted();
+        K[] oldKeys1 = keys1, oldKeys2 = keys2, oldStashKeys = stashKeys;
+        V[] oldValues1 = values1, oldValues2 = values2, oldStashValues = stashValues;
+        int[] oldHashes1 = hashes1, oldHashes2 = hashes2, oldStashHashes = stashHashes;
+        int oldStashSize = stashSize;
+        homelessKey = null;
+        homelessValue = null;
+
+        int stashLength = stashKeys.length;
+        for (int attempt = 1; ; attempt++) {
+            allocate(tableLength(length), stashLength);
+            boolean placed = place(extraKey, extraValue, extraHash)
+                    && placeAll(oldKeys1, oldValues1, oldHashes1, oldKeys1.length)
+                    && placeAll(oldKeys2, oldValues2, oldHashes2, oldKeys2.length)
+                    && placeAll(oldStashKeys, oldStashValues, oldStashHashes, oldStashSize);
+            if (placed) break;
+            if (attempt % REBUILDS_BEFORE_GROWING_STASH == 0) stashLength *= 2;
+        }
+        homelessKey = null;
+        homelessValue = null;
+        rehashEnded(start);
+    }
+
+    /**
+     * Places the first n entries of the given arrays (skipping empty slots).
+     *
+     * @return false as soon as one entry finds no place
+     * Time complexity: O(n) expected
+     */
+    private boolean placeAll(K[] keys, V[] values, int[] hashes, int n) {
+        for (int i = 0; i < n; i++)
+            if (keys[i] != null && !place(keys[i], values[i], hashes[i])) return false;
+        return true;
+    }
+
+    /**
+     * Removes the entry with the specified key
+     *
+     * @param key key to remove
+     * @return old value associated with key, or null
+     * Time complexity: O(1) worst case
+     */
+    @Override
+    public V remove(K key) {
+        int hashCode = key.hashCode();
+        V old;
+        int i = slot1(hashCode);
+        if (keys1[i] != null && hashes1[i] == hashCode && keys1[i].equals(key)) {
+            old = values1[i];
+            keys1[i] = null;
+            values1[i] = null;
+        }
+        else if (keys2[i = slot2(hashCode)] != null && hashes2[i] == hashCode && keys2[i].equals(key)) {
+            old = values2[i];
+            keys2[i] = null;
+            values2[i] = null;
+        }
+        else if ((i = stashIndexOf(key, hashCode)) >= 0) {
+            old = stashValues[i];
+            stashSize--;
+            stashKeys[i] = stashKeys[stashSize];
+            stashValues[i] = stashValues[stashSize];
+            stashHashes[i] = stashHashes[stashSize];
+            stashKeys[stashSize] = null;
+            stashValues[stashSize] = null;
+        }
+        else return null;
+        currentSize--;
+        return old;
+    }
+
+    /**
+     * Returns the number of slots of both tables and the stash.
+     *
+     * Time complexity: O(1)
+     * @return number of slots
+     */
+    protected int slotCount() {
+        return keys1.length + keys2.length + stashKeys.length;
+    }
+
+    /**
+     * Counts the probes needed to find each entry: 0 in the first table,
+     * 1 in the second one, 2 in the stash.
+     *
+     * Time complexity: O(number of slots)
+     * @param histogram histogram of probe lengths
+     */
+    protected void fillLengthHistogram(int[] histogram) {
+        for (K k : keys1) if (k != null) count(histogram, 0);
+        for (K k : keys2) if (k != null) count(histogram, 1);
+        for (int i = 0; i < stashSize; i++) count(histogram, 2);
+    }
+
+    /**
+     * Returns an iterator over the entries
+     *
+     * @return iterator of entries
+     * Time complexity: O(1)
+     */
+    @Override
+    public Iterator<Entry<K,V>> iterator() {
+        return new CuckooIterator();
+    }
+
+    /**
+     * Custom serialization: writes the number of entries and each key-value pair.
+     *
+     * Time complexity: O(n)
+     */
+    @Serial
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(keys1.length);
+        out.writeInt(currentSize);
+        Iterator<Entry<K,V>> it = iterator();
+        while (it.hasNext()) {
+            Entry<K,V> e = it.next();
+            out.writeObject(e.key());
+            out.writeObject(e.value());
+        }
+    }
+
+    /**
+     * Custom deserialization: rebuilds the tables with fresh seeds and hash codes.
+     *
+     * Time complexity: O(n) expected
+     */
+    @Serial
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        random = System.nanoTime() | 1;
+        allocate(in.readInt(), STASH_SIZE);
+        int size = in.readInt();
+        currentSize = 0;
+        for (int n = 0; n < size; n++) {
+            K key = (K) in.readObject();
+            V value = (V) in.readObject();
+            int hashCode = key.hashCode();
+            if (!place(key, value, hashCode)) rebuild(keys1.length, homelessKey, homelessValue, homelessHash);
+            currentSize++;
+        }
+    }
+
+    /**
+     * Iterator for CuckooHashTable: first table, second table, then stash.
+     */
+    private class CuckooIterator implements Iterator<Entry<K,V>> {
+
+        /** Position in the concatenation of both tables and the stash */
+        private int index;
+
+        /**
+         * Constructor: rewinds to the first entry
+         * Time complexity: O(n)
+         */
+        public CuckooIterator() {
+            rewind();
+        }
+
+        private int positions() {
+            return keys1.length + keys2.length + stashSize;
+        }
+
+        private K keyAt(int i) {
+            if (i < keys1.length) return keys1[i];
+            i -= keys1.length;
+            return i < keys2.length ? keys2[i] : stashKeys[i - keys2.length];
+        }
+
+        private V valueAt(int i) {
+            if (i < keys1.length) return values1[i];
+            i -= keys1.length;
+            return i < keys2.length ? values2[i] : stashValues[i - keys2.length];
+        }
+
+        private void advance() {
+            while (index < positions() && keyAt(index) == null)
+                index++;
+        }
+
+        /**
+         * Returns true if there is a next entry
+         *
+         * @return true if more elements exist
+         * Time complexity: O(1)
+         */
+        public boolean hasNext() {
+            return index < positions();
+        }
+
+        /**
+         * Returns the next entry
+         *
+         * @return next entry
+         * @throws NoSuchElementException if none available
+         * Time complexity: O(1) amortized
+         */
+        public Entry<K,V> next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            Entry<K,V> entry = new Entry<>(keyAt(index), valueAt(index));
+            index++;
+            advance();
+            return entry;
+        }
+
+        /**
+         * Rewinds the iterator to the first entry
+         * Time complexity: O(n)
+         */
+        public void rewind() {
+            index = 0;
+            advance();
+        }
+    }
+}
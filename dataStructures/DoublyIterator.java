@@ -15,7 +15,7 @@ class DoublyIterator<E> implements Iterator<E> {
     private final DoublyListNode<E> firstNode;
 
     /** Node with the next element to be returned */
-    private DoublyListNode<E> nextToReturn;
+    protected DoublyListNode<E> nextToReturn;
 
     /**
      * Constructor: initializes the iterator to start at the given node.
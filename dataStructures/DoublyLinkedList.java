@@ -24,15 +24,15 @@ public class DoublyLinkedList<E> implements TwoWayList<E> {
     /**
      *  Node at the head of the list.
      */
-    private transient DoublyListNode<E> head;
+    protected transient DoublyListNode<E> head;
     /**
      * Node at the tail of the list.
      */
-    private transient DoublyListNode<E> tail;
+    protected transient DoublyListNode<E> tail;
     /**
      * Number of elements in the list.
      */
-    private transient int currentSize;
+    protected transient int currentSize;
 
     /**
      * Constructor of an empty double linked list.
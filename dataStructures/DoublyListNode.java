@@ -14,7 +14,7 @@ import java.io.Serializable;
  * @param <E> Generic Element
  *
  */
-class DoublyListNode<E> implements Serializable {
+class DoublyListNode<E> implements Position<E>, Serializable {
     /**
      * Serial Version UID of the Class
      */
@@ -132,4 +132,13 @@ class DoublyListNode<E> implements Serializable {
         this.next = newNext;
 
     }
+
+    /**
+     * Returns the element stored in the node (as a position of its list).
+     * @return element stored in the node
+     */
+    @Override
+    public E element( ) {
+        return element;
+    }
 }
@@ -0,0 +1,63 @@
+package dataStructures;
+
+import dataStructures.exceptions.NoSuchElementException;
+
+/**
+ * Iterator of the positions (nodes) of a Doubly Linked List
+ *
+ * @param <E> Generic Element
+ */
+class DoublyPositionIterator<E> implements Iterator<Position<E>> {
+
+    /** Node with the first position in the iteration */
+    private final DoublyListNode<E> firstNode;
+
+    /** Node with the next position to be returned */
+    private DoublyListNode<E> nextToReturn;
+
+    /**
+     * Constructor
+     * @param first node with the first position of the iteration
+     */
+    public DoublyPositionIterator(DoublyListNode<E> first) {
+        this.firstNode = first;
+        this.nextToReturn = first;
+    }
+
+    /**
+     * Returns the next position in the iteration.
+     *
+     * Time complexity: O(1)
+     * @return the next position in the iteration
+     * @throws NoSuchElementException - if call is made without verifying pre-condition
+     */
+    @Override
+    public Position<E> next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        DoublyListNode<E> node = nextToReturn;
+        nextToReturn = nextToReturn.getNext();
+        return node;
+    }
+
+    /**
+     * Restarts the iteration.
+     *
+     * Time complexity: O(1)
+     */
+    @Override
+    public void rewind() {
+        nextToReturn = firstNode;
+    }
+
+    /**
+     * Returns true if the iteration has more positions.
+     *
+     * Time complexity: O(1)
+     * @return true iff the iteration has more positions
+     */
+    @Override
+    public boolean hasNext() {
+        return nextToReturn != null;
+    }
+}
@@ -7,7 +7,7 @@ package dataStructures;
  * @param <K> Generic Key
  * @param <V> Generic Value
  */
-abstract class HashTable<K,V> implements Map<K,V> {
+abstract class HashTable<K,V> implements InstrumentedMap<K,V> {
 
     /** Default size of the hash table */
     static final int DEFAULT_CAPACITY = 50;
@@ -21,6 +21,9 @@ abstract class HashTable<K,V> implements Map<K,V> {
     /** Maximum number of entries before reaching MAX_LOAD_FACTOR */
     protected int maxSize;
 
+    /** Statistics of the table, null while disabled */
+    private transient Statistics statistics;
+
     public HashTable(int capacity) {
         currentSize = 0;
         size = capacity;
@@ -172,4 +175,125 @@ abstract class HashTable<K,V> implements Map<K,V> {
     public Iterator<K> keys() {
         return new KeysIterator(iterator());
     }
+
+    // Statistics
+
+    /**
+     * Enables or disables the statistics of the table.
+     *
+     * Time complexity: O(1)
+     * @param enabled true to gather statistics
+     */
+    public void setStatisticsEnabled(boolean enabled) {
+        statistics = enabled ? new Statistics() : null;
+    }
+
+    /**
+     * Returns the statistics of the table, or null if they are disabled.
+     *
+     * Time complexity: O(1)
+     * @return statistics or null
+     */
+    public HashTableStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Returns the start time of a rehash, or 0 if statistics are disabled.
+     *
+     * Time complexity: O(1)
+     * @return value to pass to rehashEnded
+     */
+    protected long rehashStarted() {
+        return statistics == null ? 0 : System.nanoTime();
+    }
+
+    /**
+     * Records a rehash that started at the given time, if statistics are enabled.
+     *
+     * Time complexity: O(1)
+     * @param start value returned by rehashStarted
+     */
+    protected void rehashEnded(long start) {
+        if (statistics != null) statistics.recordRehash(System.nanoTime() - start);
+    }
+
+    /**
+     * Returns the number of buckets or slots of the table.
+     *
+     * @return capacity of the table
+     */
+    protected abstract int slotCount();
+
+    /**
+     * Fills the histogram of chain lengths or probe distances (see HashTableStatistics).
+     *
+     * @param histogram array with HISTOGRAM_LENGTH counters, initially zero
+     */
+    protected abstract void fillLengthHistogram(int[] histogram);
+
+    /**
+     * Returns the number of removed cells in the table.
+     *
+     * @return number of removed cells (0 by default)
+     */
+    protected int removedCellCount() {
+        return 0;
+    }
+
+    /**
+     * Adds one occurrence of a length to a histogram, in the last position if too long.
+     *
+     * Time complexity: O(1)
+     * @param histogram histogram of lengths
+     * @param length length to count
+     */
+    static void count(int[] histogram, int length) {
+        histogram[Math.min(length, histogram.length - 1)]++;
+    }
+
+    /**
+     * Statistics of this table: rehashes are counted, the rest is measured on demand.
+     */
+    private class Statistics implements HashTableStatistics {
+
+        private int rehashes;
+        private long rehashNanos;
+
+        void recordRehash(long nanos) {
+            rehashes++;
+            rehashNanos += nanos;
+        }
+
+        public int size() {
+            return currentSize;
+        }
+
+        public int capacity() {
+            return slotCount();
+        }
+
+        public float loadFactor() {
+            int capacity = slotCount();
+            return capacity == 0 ? 0 : (float) currentSize / capacity;
+        }
+
+        public int rehashes() {
+            return rehashes;
+        }
+
+        public long rehashNanos() {
+            return rehashNanos;
+        }
+
+        public int removedCells() {
+            return removedCellCount();
+        }
+
+        public int[] lengthHistogram() {
+            int[] histogram = new int[HISTOGRAM_LENGTH];
+            fillLengthHistogram(histogram);
+            return histogram;
+        }
+    }
 }
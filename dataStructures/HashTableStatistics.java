@@ -0,0 +1,57 @@
+package dataStructures;
+
+/**
+ * Hash Table Statistics
+ * Read-only view of the occupancy and growth of a hash table. Sizes and lengths
+ * are measured when asked for; only rehashes are recorded as they happen.
+ */
+public interface HashTableStatistics {
+
+    /** Number of entries in the length histogram; the last one counts every longer length */
+    int HISTOGRAM_LENGTH = 8;
+
+    /**
+     * Returns the number of entries in the table.
+     * @return number of entries
+     */
+    int size();
+
+    /**
+     * Returns the number of buckets (separate chaining) or slots (open addressing).
+     * @return capacity of the table
+     */
+    int capacity();
+
+    /**
+     * Returns the current load factor.
+     * @return size() / capacity()
+     */
+    float loadFactor();
+
+    /**
+     * Returns the number of times the table grew since statistics were enabled.
+     * @return number of rehashes
+     */
+    int rehashes();
+
+    /**
+     * Returns the time spent growing the table since statistics were enabled.
+     * @return nanoseconds spent in rehashes
+     */
+    long rehashNanos();
+
+    /**
+     * Returns the number of removed cells (tombstones) in the table.
+     * @return number of removed cells, 0 for tables that do not leave them
+     */
+    int removedCells();
+
+    /**
+     * Returns a histogram of lengths: for separate chaining, position i counts the
+     * buckets whose chain has i entries; for open addressing, position i counts the
+     * entries found i slots after their home slot. The last position counts every
+     * length not less than HISTOGRAM_LENGTH - 1.
+     * @return array with HISTOGRAM_LENGTH counters
+     */
+    int[] lengthHistogram();
+}
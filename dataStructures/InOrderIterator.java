@@ -13,11 +13,14 @@ import dataStructures.exceptions.NoSuchElementException;
 public class InOrderIterator<E> implements Iterator<E> {
 
     /** Node with the current element */
-    private BTNode<E> next;
+    protected BTNode<E> next;
 
     /** Root node of the tree */
     private BTNode<E> root;
 
+    /** Node the iteration starts at, or null to start at the leftmost node */
+    private BTNode<E> first;
+
     /**
      * Constructor with root node.
      *
@@ -25,7 +28,20 @@ public class InOrderIterator<E> implements Iterator<E> {
      * Time complexity: O(h) where h is the height of the tree (to find leftmost element)
      */
     public InOrderIterator(BTNode<E> root) {
+        this(root, null);
+    }
+
+    /**
+     * Constructor with root node and starting node.
+     * Iterates the elements from the starting node on, skipping those before it.
+     *
+     * @param root root of the binary tree to iterate
+     * @param first node of the first element, or null to start at the leftmost node
+     * Time complexity: O(h) where h is the height of the tree (to find leftmost element)
+     */
+    public InOrderIterator(BTNode<E> root, BTNode<E> first) {
         this.root = root;
+        this.first = first;
         rewind();
     }
 
@@ -89,6 +105,8 @@ public class InOrderIterator<E> implements Iterator<E> {
     public void rewind() {
         if (root == null)
             next = null;
+        else if (first != null)
+            next = first;
         else
             next = root.furtherLeftElement();
     }
@@ -0,0 +1,41 @@
+package dataStructures;
+
+/**
+ * In-order Binary Search Tree range iterator.
+ * Iterates the entries of a binary search tree in-order, from a given node
+ * (found beforehand in O(h)) up to, but excluding, the first key not smaller
+ * than an upper bound.
+ *
+ * @param <K> Generic Key
+ * @param <V> Generic Value
+ */
+class InOrderRangeIterator<K extends Comparable<K>, V> extends InOrderIterator<Map.Entry<K, V>> {
+
+    /** Upper bound of the keys (exclusive) */
+    private final K toKey;
+
+    /**
+     * Constructor with root node, starting node and upper bound.
+     *
+     * @param root root of the binary search tree to iterate
+     * @param first node of the first entry
+     * @param toKey upper bound of the keys (exclusive)
+     * Time complexity: O(1)
+     */
+    InOrderRangeIterator(BTNode<Map.Entry<K, V>> root, BTNode<Map.Entry<K, V>> first, K toKey) {
+        super(root, first);
+        this.toKey = toKey;
+    }
+
+    /**
+     * Returns true if next would return an entry, that is, if there is a
+     * next entry and its key is smaller than the upper bound.
+     *
+     * Time complexity: O(1)
+     * @return true if the iteration has more entries
+     */
+    @Override
+    public boolean hasNext() {
+        return next != null && next.getElement().key().compareTo(toKey) < 0;
+    }
+}
@@ -0,0 +1,51 @@
+package dataStructures;
+
+import dataStructures.exceptions.*;
+
+/**
+ * Ordered Dictionary with positional access
+ * The entries are numbered from 0 in increasing order of their keys.
+ *
+ * @param <K> Generic type Key, must extend comparable
+ * @param <V> Generic type Value
+ */
+public interface IndexedSortedMap<K extends Comparable<K>, V>
+        extends SortedMap<K,V> {
+
+    /**
+     * Returns the entry at the given position in key order.
+     *
+     * @param index position of the entry, from 0
+     * @return entry with index smaller keys
+     * @throws InvalidPositionException if index < 0 or index >= size()
+     */
+    Entry<K,V> select(int index);
+
+    /**
+     * Returns the number of keys smaller than the given one, which is the
+     * position of the key if it is in the dictionary.
+     *
+     * @param key key to rank
+     * @return number of smaller keys
+     */
+    int rank(K key);
+
+    /**
+     * Returns an iterator of the entries in key order, starting at the given position.
+     *
+     * @param index position of the first entry, from 0
+     * @return iterator of the entries from position index on
+     * @throws InvalidPositionException if index < 0 or index > size()
+     */
+    Iterator<Entry<K,V>> iterator(int index);
+
+    /**
+     * Returns an iterator of the values in key order, starting at the given position.
+     *
+     * @param index position of the first value, from 0
+     * @return iterator of the values from position index on
+     * @throws InvalidPositionException if index < 0 or index > size()
+     */
+    Iterator<V> values(int index);
+
+}
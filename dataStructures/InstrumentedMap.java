@@ -0,0 +1,24 @@
+package dataStructures;
+
+/**
+ * Instrumented Map
+ * Map that can gather statistics about its hash table. Statistics are disabled
+ * by default, and cost nothing while disabled.
+ *
+ * @param <K> Generic Key
+ * @param <V> Generic Value
+ */
+public interface InstrumentedMap<K,V> extends Map<K,V> {
+
+    /**
+     * Enables or disables the statistics; enabling them again restarts the rehash counters.
+     * @param enabled true to gather statistics
+     */
+    void setStatisticsEnabled(boolean enabled);
+
+    /**
+     * Returns the statistics of the table.
+     * @return statistics, or null if they are disabled
+     */
+    HashTableStatistics getStatistics();
+}
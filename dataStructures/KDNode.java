@@ -0,0 +1,83 @@
+package dataStructures;
+
+/**
+ * 2-d Tree Node
+ * Stores an element together with its point in the plane.
+ *
+ * @param <E> Generic Element
+ */
+class KDNode<E> {
+
+    /** Coordinates of the point */
+    final long x;
+    final long y;
+
+    /** Element stored in the node */
+    final E element;
+
+    /** Insertion stamp (orders elements tied at the same distance) */
+    final long stamp;
+
+    /** Splitting axis: 0 splits on x, 1 splits on y */
+    int axis;
+
+    /** Number of nodes (removed ones included) in the subtree rooted here */
+    int size;
+
+    /** True if the element was removed but the node still routes searches */
+    boolean removed;
+
+    /** Children */
+    KDNode<E> left;
+    KDNode<E> right;
+
+    /**
+     * Constructor of a leaf node.
+     * Time complexity: O(1)
+     * @param x first coordinate
+     * @param y second coordinate
+     * @param element element to store
+     * @param stamp insertion stamp
+     * @param axis splitting axis
+     */
+    KDNode(long x, long y, E element, long stamp, int axis) {
+        this.x = x;
+        this.y = y;
+        this.element = element;
+        this.stamp = stamp;
+        this.axis = axis;
+        this.size = 1;
+        this.removed = false;
+    }
+
+    /**
+     * Returns the coordinate of this node on the given axis.
+     * Time complexity: O(1)
+     * @param ax axis (0 or 1)
+     * @return x if ax is 0, y otherwise
+     */
+    long coordinate(int ax) {
+        return ax == 0 ? x : y;
+    }
+
+    /**
+     * Manhattan distance from this node to the given point.
+     * Time complexity: O(1)
+     * @param px first coordinate of the point
+     * @param py second coordinate of the point
+     * @return |x - px| + |y - py|
+     */
+    long distanceTo(long px, long py) {
+        return Math.abs(x - px) + Math.abs(y - py);
+    }
+
+    /**
+     * Returns the size of a (possibly empty) subtree.
+     * Time complexity: O(1)
+     * @param node subtree root
+     * @return number of nodes in the subtree
+     */
+    static int size(KDNode<?> node) {
+        return node == null ? 0 : node.size;
+    }
+}
@@ -0,0 +1,612 @@
+package dataStructures;
+
+import dataStructures.exceptions.NoSuchElementException;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 2-d Tree (k-d tree with k = 2) over points with integer coordinates.
+ * Nearest queries use the Manhattan metric and return every element tied
+ * at the minimum distance, in insertion order.
+ * Balance is kept by rebuilding the highest unbalanced subtree after an insertion
+ * (scapegoat style). Removals are lazy: a removed node keeps routing searches
+ * until the subtree holding it is rebuilt.
+ *
+ * @param <E> Generic Element
+ */
+public class KDTree<E> implements Serializable {
+
+    private static final long serialVersionUID = 0L;
+
+    /** Weight-balance factor: a child may hold at most ALPHA of its parent's subtree */
+    private static final double ALPHA = 0.75;
+
+    /** Initial length of the insertion path buffer */
+    private static final int INITIAL_PATH = 64;
+
+    /** Sort keys used by the merge sort */
+    private static final int BY_X = 0;
+    private static final int BY_Y = 1;
+    private static final int BY_STAMP = 2;
+
+    /** Root of the tree */
+    private transient KDNode<E> root;
+
+    /** Number of (non removed) elements */
+    private transient int currentSize;
+
+    /** Number of removed nodes still present in the tree */
+    private transient int removedCount;
+
+    /** Stamp given to the next inserted element */
+    private transient long nextStamp;
+
+    /** Buffer reused to record the insertion path */
+    private transient KDNode<E>[] path;
+
+    /**
+     * Constructor of an empty tree.
+     * Time complexity: O(1)
+     */
+    public KDTree() {
+        root = null;
+        currentSize = 0;
+        removedCount = 0;
+        nextStamp = 0;
+    }
+
+    /**
+     * Returns true iff the tree contains no elements.
+     * Time complexity: O(1)
+     * @return true if the tree is empty
+     */
+    public boolean isEmpty() {
+        return currentSize == 0;
+    }
+
+    /**
+     * Returns the number of elements in the tree.
+     * Time complexity: O(1)
+     * @return number of elements
+     */
+    public int size() {
+        return currentSize;
+    }
+
+    /**
+     * Inserts an element at the given point.
+     * Time complexity: O(log n) amortized
+     * @param x first coordinate
+     * @param y second coordinate
+     * @param element element to insert
+     */
+    public void insert(long x, long y, E element) {
+        KDNode<E> node = new KDNode<>(x, y, element, nextStamp++, BY_X);
+        currentSize++;
+        if (root == null) {
+            root = node;
+            return;
+        }
+
+        int depth = 0;
+        KDNode<E> cur = root;
+        while (true) {
+            recordPath(depth++, cur);
+            cur.size++;
+            // the new stamp is the largest one, so equal coordinates go right
+            boolean goLeft = node.coordinate(cur.axis) < cur.coordinate(cur.axis);
+            KDNode<E> next = goLeft ? cur.left : cur.right;
+            if (next == null) {
+                node.axis = 1 - cur.axis;
+                if (goLeft) cur.left = node;
+                else cur.right = node;
+                break;
+            }
+            cur = next;
+        }
+
+        if (depth > maxBalancedDepth(root.size)) rebuildScapegoat(depth, node);
+    }
+
+    /**
+     * Removes the element stored at the given point.
+     * Time complexity: O(log n) amortized, more when many points share a coordinate
+     * @param x first coordinate the element was inserted with
+     * @param y second coordinate the element was inserted with
+     * @param element element to remove
+     * @return true iff the element was found and removed
+     */
+    public boolean remove(long x, long y, E element) {
+        if (!markRemoved(root, x, y, element)) return false;
+        currentSize--;
+        removedCount++;
+        if (currentSize == 0) {
+            root = null;
+            removedCount = 0;
+        } else if (removedCount > currentSize) {
+            root = rebuild(root);
+            removedCount = 0;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the elements at minimum Manhattan distance from the given point,
+     * in insertion order.
+     * Time complexity: O(log n + t) expected, t = number of tied elements
+     * @param x first coordinate of the reference point
+     * @param y second coordinate of the reference point
+     * @return iterator of the closest elements (empty if the tree is empty)
+     */
+    public Iterator<E> nearest(long x, long y) {
+        TiedNearest search = new TiedNearest(x, y);
+        search.visit(root);
+        return search.result();
+    }
+
+    /**
+     * Returns every element by increasing Manhattan distance from the given point
+     * (ties in insertion order). The search is best-first and lazy, so reading only
+     * the first k elements costs O((k + log n) log n).
+     * Time complexity: O(log n) per element read, expected
+     * @param x first coordinate of the reference point
+     * @param y second coordinate of the reference point
+     * @return iterator of the elements by increasing distance
+     */
+    public Iterator<E> nearestFirst(long x, long y) {
+        return new NearestFirstIterator(x, y);
+    }
+
+    /**
+     * Returns the elements whose point lies inside the given rectangle (bounds inclusive).
+     * Elements are produced lazily, in tree order: subtrees outside the rectangle are never visited.
+     * Time complexity: O(sqrt(n) + r) per full traversal, r = number of reported elements
+     * @param xMin minimum first coordinate
+     * @param yMin minimum second coordinate
+     * @param xMax maximum first coordinate
+     * @param yMax maximum second coordinate
+     * @return iterator of the elements inside the rectangle
+     */
+    public Iterator<E> range(long xMin, long yMin, long xMax, long yMax) {
+        return new RangeIterator(xMin, yMin, xMax, yMax);
+    }
+
+    /**
+     * Records a node of the insertion path, growing the buffer when needed.
+     * Time complexity: O(1) amortized
+     * @param depth position in the path
+     * @param node node at that depth
+     */
+    private void recordPath(int depth, KDNode<E> node) {
+        if (path == null) path = newArray(INITIAL_PATH);
+        if (depth == path.length) {
+            KDNode<E>[] bigger = newArray(path.length * 2);
+            System.arraycopy(path, 0, bigger, 0, path.length);
+            path = bigger;
+        }
+        path[depth] = node;
+    }
+
+    /**
+     * Maximum depth allowed for a tree with n nodes: log base 1/ALPHA of n.
+     * Time complexity: O(1)
+     */
+    private static int maxBalancedDepth(int n) {
+        return (int) (Math.log(n) / Math.log(1 / ALPHA));
+    }
+
+    /**
+     * Walks the insertion path upwards and rebuilds the subtree of the first
+     * ancestor whose child is too heavy.
+     * Time complexity: O(m log^2 m), m = size of the rebuilt subtree
+     * @param depth depth of the inserted node
+     * @param inserted inserted node
+     */
+    private void rebuildScapegoat(int depth, KDNode<E> inserted) {
+        KDNode<E> child = inserted;
+        for (int i = depth - 1; i >= 0; i--) {
+            KDNode<E> ancestor = path[i];
+            if (child.size > ALPHA * ancestor.size) {
+                int oldSize = ancestor.size;
+                KDNode<E> rebuilt = rebuild(ancestor);
+                int purged = oldSize - KDNode.size(rebuilt);
+                if (i == 0) root = rebuilt;
+                else if (path[i - 1].left == ancestor) path[i - 1].left = rebuilt;
+                else path[i - 1].right = rebuilt;
+                for (int j = i - 1; j >= 0; j--) path[j].size -= purged;
+                removedCount -= purged;
+                break;
+            }
+            child = ancestor;
+        }
+        for (int i = 0; i < depth; i++) path[i] = null;
+    }
+
+    /**
+     * Rebuilds a subtree as a balanced tree of its live nodes, dropping removed ones.
+     * The new subtree root splits on the same axis as the old one.
+     * Time complexity: O(m log^2 m), m = size of the subtree
+     * @param subRoot root of the subtree
+     * @return root of the rebuilt subtree (null if it had no live nodes)
+     */
+    private KDNode<E> rebuild(KDNode<E> subRoot) {
+        KDNode<E>[] nodes = newArray(subRoot.size);
+        int count = collectLive(subRoot, nodes, 0);
+        return build(nodes, newArray(count), 0, count, subRoot.axis);
+    }
+
+    /**
+     * Copies the live nodes of a subtree into an array.
+     * Time complexity: O(m)
+     * @return number of nodes in the array after the copy
+     */
+    private int collectLive(KDNode<E> node, KDNode<E>[] nodes, int count) {
+        if (node == null) return count;
+        count = collectLive(node.left, nodes, count);
+        if (!node.removed) nodes[count++] = node;
+        return collectLive(node.right, nodes, count);
+    }
+
+    /**
+     * Builds a balanced subtree from nodes[lo, hi), splitting at the median on the given axis.
+     * Ties on the axis coordinate are ordered by stamp, so the split is exact even with
+     * repeated coordinates.
+     * Time complexity: O(m log^2 m), m = hi - lo
+     */
+    private KDNode<E> build(KDNode<E>[] nodes, KDNode<E>[] tmp, int lo, int hi, int axis) {
+        if (lo >= hi) return null;
+        sort(nodes, tmp, lo, hi, axis);
+        int mid = (lo + hi) >>> 1;
+        KDNode<E> node = nodes[mid];
+        node.axis = axis;
+        node.left = build(nodes, tmp, lo, mid, 1 - axis);
+        node.right = build(nodes, tmp, mid + 1, hi, 1 - axis);
+        node.size = hi - lo;
+        return node;
+    }
+
+    /**
+     * Marks the node holding the element as removed.
+     * When the searched coordinate equals the split coordinate both subtrees are searched.
+     * Time complexity: O(h), h = height of the tree
+     * @return true iff the element was found
+     */
+    private boolean markRemoved(KDNode<E> node, long x, long y, E element) {
+        if (node == null) return false;
+        if (!node.removed && node.x == x && node.y == y && node.element.equals(element)) {
+            node.removed = true;
+            return true;
+        }
+        long c = node.axis == BY_X ? x : y;
+        long split = node.coordinate(node.axis);
+        if (c < split) return markRemoved(node.left, x, y, element);
+        if (c > split) return markRemoved(node.right, x, y, element);
+        return markRemoved(node.left, x, y, element) || markRemoved(node.right, x, y, element);
+    }
+
+    /**
+     * Stable merge sort of nodes[lo, hi) by coordinate (ties by stamp) or by stamp.
+     * Time complexity: O(m log m), m = hi - lo
+     */
+    private static <E> void sort(KDNode<E>[] a, KDNode<E>[] tmp, int lo, int hi, int key) {
+        if (hi - lo < 2) return;
+        int mid = (lo + hi) >>> 1;
+        sort(a, tmp, lo, mid, key);
+        sort(a, tmp, mid, hi, key);
+        if (!precedes(a[mid], a[mid - 1], key)) return;
+        System.arraycopy(a, lo, tmp, lo, hi - lo);
+        int i = lo, j = mid, k = lo;
+        while (i < mid && j < hi) a[k++] = precedes(tmp[j], tmp[i], key) ? tmp[j++] : tmp[i++];
+        while (i < mid) a[k++] = tmp[i++];
+        while (j < hi) a[k++] = tmp[j++];
+    }
+
+    /**
+     * Returns true iff a comes strictly before b for the given sort key.
+     * Time complexity: O(1)
+     */
+    private static boolean precedes(KDNode<?> a, KDNode<?> b, int key) {
+        if (key != BY_STAMP) {
+            long ca = a.coordinate(key), cb = b.coordinate(key);
+            if (ca != cb) return ca < cb;
+        }
+        return a.stamp < b.stamp;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> KDNode<E>[] newArray(int length) {
+        return (KDNode<E>[]) new KDNode[length];
+    }
+
+    /**
+     * Branch and bound search for every live node at minimum distance from a point.
+     * A subtree is skipped when the distance to its splitting line already exceeds the best distance.
+     */
+    private class TiedNearest {
+        private final long x;
+        private final long y;
+        private long bestDistance;
+        private KDNode<E>[] best;
+        private int bestCount;
+
+        TiedNearest(long x, long y) {
+            this.x = x;
+            this.y = y;
+            this.bestDistance = Long.MAX_VALUE;
+            this.best = newArray(4);
+            this.bestCount = 0;
+        }
+
+        /**
+         * Searches the subtree rooted at node, near side first.
+         * Time complexity: O(log n) expected
+         */
+        void visit(KDNode<E> node) {
+            if (node == null) return;
+            if (!node.removed) {
+                long d = node.distanceTo(x, y);
+                if (d < bestDistance) {
+                    bestDistance = d;
+                    bestCount = 0;
+                    add(node);
+                } else if (d == bestDistance) {
+                    add(node);
+                }
+            }
+            long diff = (node.axis == BY_X ? x : y) - node.coordinate(node.axis);
+            KDNode<E> near = diff < 0 ? node.left : node.right;
+            KDNode<E> far = diff < 0 ? node.right : node.left;
+            visit(near);
+            if (Math.abs(diff) <= bestDistance) visit(far);
+        }
+
+        private void add(KDNode<E> node) {
+            if (bestCount == best.length) {
+                KDNode<E>[] bigger = newArray(best.length * 2);
+                System.arraycopy(best, 0, bigger, 0, bestCount);
+                best = bigger;
+            }
+            best[bestCount++] = node;
+        }
+
+        /**
+         * Returns the tied elements ordered by insertion stamp.
+         * Time complexity: O(t log t)
+         */
+        @SuppressWarnings("unchecked")
+        Iterator<E> result() {
+            sort(best, newArray(bestCount), 0, bestCount, BY_STAMP);
+            E[] elems = (E[]) new Object[bestCount];
+            for (int i = 0; i < bestCount; i++) elems[i] = best[i].element;
+            return new ArrayIterator<>(elems, bestCount);
+        }
+    }
+
+    /**
+     * Entry of the best-first search: either a point or a subtree still to expand.
+     * For a subtree, dx and dy are the distances along each axis from the reference
+     * point to the region of the subtree, and key = dx + dy is a lower bound of the
+     * distance to any point in it.
+     */
+    private static class Candidate<E> {
+        final KDNode<E> node;
+        final boolean point;
+        final long dx;
+        final long dy;
+        final long key;
+
+        Candidate(KDNode<E> node, boolean point, long dx, long dy, long key) {
+            this.node = node;
+            this.point = point;
+            this.dx = dx;
+            this.dy = dy;
+            this.key = key;
+        }
+    }
+
+    /**
+     * Orders candidates by key; on equal keys subtrees come before points, so that a
+     * point is only reported once no subtree can hold a point tied with it, and tied
+     * points come by insertion stamp.
+     */
+    private static class CandidateOrder<E> implements Comparator<Candidate<E>> {
+        private static final long serialVersionUID = 0L;
+
+        @Override
+        public int compare(Candidate<E> a, Candidate<E> b) {
+            if (a.key != b.key) return a.key < b.key ? -1 : 1;
+            if (a.point != b.point) return a.point ? 1 : -1;
+            return Long.compare(a.node.stamp, b.node.stamp);
+        }
+    }
+
+    /**
+     * Incremental nearest neighbour search over a binary heap of candidates.
+     */
+    private class NearestFirstIterator implements Iterator<E> {
+        private final long x;
+        private final long y;
+        private PriorityQueue<Candidate<E>> heap;
+        private KDNode<E> nextToReturn;
+
+        NearestFirstIterator(long x, long y) {
+            this.x = x;
+            this.y = y;
+            rewind();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextToReturn != null;
+        }
+
+        @Override
+        public E next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            E element = nextToReturn.element;
+            advance();
+            return element;
+        }
+
+        @Override
+        public void rewind() {
+            heap = new BinaryHeap<>(new CandidateOrder<>());
+            if (root != null) heap.insert(new Candidate<>(root, false, 0, 0, 0));
+            advance();
+        }
+
+        /**
+         * Expands subtrees until the smallest candidate is a point.
+         * Time complexity: O(log n) expected
+         */
+        private void advance() {
+            nextToReturn = null;
+            while (!heap.isEmpty()) {
+                Candidate<E> c = heap.removeMin();
+                KDNode<E> node = c.node;
+                if (c.point) {
+                    nextToReturn = node;
+                    return;
+                }
+                if (!node.removed) heap.insert(new Candidate<>(node, true, 0, 0, node.distanceTo(x, y)));
+
+                long diff = (node.axis == BY_X ? x : y) - node.coordinate(node.axis);
+                KDNode<E> near = diff < 0 ? node.left : node.right;
+                KDNode<E> far = diff < 0 ? node.right : node.left;
+                if (near != null) heap.insert(new Candidate<>(near, false, c.dx, c.dy, c.key));
+                if (far != null) {
+                    long dx = node.axis == BY_X ? Math.max(c.dx, Math.abs(diff)) : c.dx;
+                    long dy = node.axis == BY_Y ? Math.max(c.dy, Math.abs(diff)) : c.dy;
+                    heap.insert(new Candidate<>(far, false, dx, dy, dx + dy));
+                }
+            }
+        }
+    }
+
+    /**
+     * Lazy range search: keeps a stack of the subtrees still to visit that may
+     * intersect the rectangle, and stops as soon as the next element is found.
+     */
+    private class RangeIterator implements Iterator<E> {
+        private final long xMin;
+        private final long yMin;
+        private final long xMax;
+        private final long yMax;
+        private KDNode<E>[] stack;
+        private int top;
+        private KDNode<E> nextToReturn;
+
+        RangeIterator(long xMin, long yMin, long xMax, long yMax) {
+            this.xMin = xMin;
+            this.yMin = yMin;
+            this.xMax = xMax;
+            this.yMax = yMax;
+            this.stack = newArray(INITIAL_PATH);
+            rewind();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextToReturn != null;
+        }
+
+        @Override
+        public E next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            E element = nextToReturn.element;
+            advance();
+            return element;
+        }
+
+        @Override
+        public void rewind() {
+            while (top > 0) stack[--top] = null;
+            if (root != null) push(root);
+            advance();
+        }
+
+        /**
+         * Moves nextToReturn to the next live node inside the rectangle (null if there is none).
+         * Time complexity: O(k), k = number of nodes visited
+         */
+        private void advance() {
+            nextToReturn = null;
+            while (top > 0) {
+                KDNode<E> node = stack[--top];
+                stack[top] = null;
+                long split = node.coordinate(node.axis);
+                // the left subtree holds coordinates <= split, the right one >= split
+                if (node.right != null && split <= (node.axis == BY_X ? xMax : yMax)) push(node.right);
+                if (node.left != null && split >= (node.axis == BY_X ? xMin : yMin)) push(node.left);
+                if (!node.removed && node.x >= xMin && node.x <= xMax && node.y >= yMin && node.y <= yMax) {
+                    nextToReturn = node;
+                    return;
+                }
+            }
+        }
+
+        private void push(KDNode<E> node) {
+            if (top == stack.length) {
+                KDNode<E>[] bigger = newArray(stack.length * 2);
+                System.arraycopy(stack, 0, bigger, 0, top);
+                stack = bigger;
+            }
+            stack[top++] = node;
+        }
+    }
+
+    /**
+     * Writes the live points into the stream.
+     * Time complexity: O(n)
+     */
+    private int writeNodes(ObjectOutputStream out, KDNode<E> node) throws IOException {
+        if (node == null) return 0;
+        int written = writeNodes(out, node.left);
+        if (!node.removed) {
+            out.writeLong(node.x);
+            out.writeLong(node.y);
+            out.writeLong(node.stamp);
+            out.writeObject(node.element);
+            written++;
+        }
+        return written + writeNodes(out, node.right);
+    }
+
+    /**
+     * Custom serialization: writes the number of elements followed by each live point.
+     * Time complexity: O(n)
+     */
+    @Serial
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(currentSize);
+        out.writeLong(nextStamp);
+        writeNodes(out, root);
+    }
+
+    /**
+     * Custom deserialization: reads the points and builds a balanced tree.
+     * Time complexity: O(n log^2 n)
+     */
+    @Serial
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        int n = in.readInt();
+        nextStamp = in.readLong();
+        KDNode<E>[] nodes = newArray(n);
+        for (int i = 0; i < n; i++) {
+            long x = in.readLong();
+            long y = in.readLong();
+            long stamp = in.readLong();
+            nodes[i] = new KDNode<>(x, y, (E) in.readObject(), stamp, BY_X);
+        }
+        root = build(nodes, newArray(n), 0, n, BY_X);
+        currentSize = n;
+        removedCount = 0;
+    }
+}
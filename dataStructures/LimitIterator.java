@@ -0,0 +1,70 @@
+package dataStructures;
+
+import dataStructures.exceptions.NoSuchElementException;
+
+/**
+ * Iterator over at most a given number of elements of another iterator.
+ * @param <E> Generic Element
+ */
+public class LimitIterator<E> implements Iterator<E> {
+
+    /** Underlying iterator */
+    private final Iterator<E> iterator;
+
+    /** Maximum number of elements returned */
+    private final int limit;
+
+    /** Number of elements returned since the last rewind */
+    private int returned;
+
+    /**
+     * Constructor
+     * @param iterator iterator of the elements
+     * @param limit maximum number of elements to return
+     *
+     * Time complexity: O(1)
+     */
+    public LimitIterator(Iterator<E> iterator, int limit) {
+        this.iterator = iterator;
+        this.limit = limit;
+        returned = 0;
+    }
+
+    /**
+     * Returns true if next() would return an element rather than throwing an exception.
+     * Time complexity: O(1)
+     *
+     * @return true iff the iteration has more elements
+     */
+    @Override
+    public boolean hasNext() {
+        return returned < limit && iterator.hasNext();
+    }
+
+    /**
+     * Returns the next element in the iteration.
+     * Time complexity: O(1)
+     *
+     * @return next element in the iteration
+     * @throws NoSuchElementException if there are no more elements
+     */
+    @Override
+    public E next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        returned++;
+        return iterator.next();
+    }
+
+    /**
+     * Restarts the iteration.
+     * After rewind(), next() will return the first element if iteration is not empty.
+     *
+     * Time complexity: O(1)
+     */
+    @Override
+    public void rewind() {
+        iterator.rewind();
+        returned = 0;
+    }
+}
@@ -0,0 +1,375 @@
+package dataStructures;
+
+import dataStructures.exceptions.*;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+
+/**
+ * Flat Open Addressing Hash Table
+ * Keys, values and the hash codes of the keys are kept in three parallel arrays,
+ * so there is no node nor entry object per key. Collisions are solved by linear
+ * probing; a probe only calls equals when the cached hash codes match, and a
+ * rehash never calls hashCode again. Removals shift the following entries of the
+ * cluster back, so the table never holds removed cells.
+ *
+ * @param <K> Generic Key
+ * @param <V> Generic Value
+ */
+public class OpenAddressingHashTable<K,V> extends HashTable<K,V> {
+
+    static final float IDEAL_LOAD_FACTOR = 0.5f;
+    static final float MAX_LOAD_FACTOR = 0.75f;
+    static final int NOT_FOUND = -1;
+
+    /** Keys of the table (null marks an empty slot) */
+    private transient K[] keys;
+
+    /** Values of the table, keys[i] is associated with values[i] */
+    private transient V[] values;
+
+    /** Cached hash codes, hashes[i] is keys[i].hashCode() */
+    private transient int[] hashes;
+
+    /**
+     * Default constructor
+     * Time complexity: O(n)
+     */
+    public OpenAddressingHashTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor with capacity
+     *
+     * @param capacity initial capacity
+     * Time complexity: O(n)
+     */
+    public OpenAddressingHashTable(int capacity) {
+        super(capacity);
+        allocate(tableLength((int) (Math.max(capacity, 1) / IDEAL_LOAD_FACTOR)));
+    }
+
+    /**
+     * Allocates empty arrays with the given length.
+     *
+     * @param length number of slots
+     * Time complexity: O(n)
+     */
+    @SuppressWarnings("unchecked")
+    private void allocate(int length) {
+        keys = (K[]) new Object[length];
+        values = (V[]) new Object[length];
+        hashes = new int[length];
+        maxSize = (int) (length * MAX_LOAD_FACTOR);
+    }
+
+    /**
+     * Returns the length of a table with at least the given number of slots.
+     * Subclasses redefining it must not rely on their own fields, as it is
+     * called by the constructor.
+     *
+     * @param minimum lower bound of the length
+     * @return prime not less than minimum
+     * Time complexity: O(sqrt(n)) per candidate number
+     */
+    protected int tableLength(int minimum) {
+        int length = HashTable.nextPrime(minimum);
+        return length == 0 ? minimum : length;
+    }
+
+    /**
+     * Returns the slot where the probe sequence of a hash code starts
+     * (never negative, even for Integer.MIN_VALUE). Subclasses redefining it
+     * must not rely on their own fields, as it is called by the constructor.
+     *
+     * @param hashCode hash code of a key
+     * @param length length of the table, as returned by tableLength
+     * @return slot in [0, length)
+     * Time complexity: O(1)
+     */
+    protected int slotOf(int hashCode, int length) {
+        return (hashCode & 0x7FFFFFFF) % length;
+    }
+
+    /**
+     * Returns the home slot of a hash code in the current table.
+     * Time complexity: O(1)
+     */
+    private int home(int hashCode) {
+        return slotOf(hashCode, keys.length);
+    }
+
+    /**
+     * Searches for a key using linear probing
+     *
+     * @param key key to search
+     * @param hashCode hash code of the key
+     * @return index in the table or NOT_FOUND
+     * Time complexity: O(1) expected
+     */
+    private int search(K key, int hashCode) {
+        int idx = home(hashCode);
+        K current;
+        while ((current = keys[idx]) != null) {
+            if (hashes[idx] == hashCode && current.equals(key)) return idx;
+            if (++idx == keys.length) idx = 0;
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * Returns the value associated with a key, or null if not found
+     *
+     * @param key key to search
+     * @return value associated with key or null
+     * Time complexity: O(1) expected
+     */
+    @Override
+    public V get(K key) {
+        int idx = search(key, key.hashCode());
+        return idx == NOT_FOUND ? null : values[idx];
+    }
+
+    /**
+     * Inserts or updates a key-value pair
+     *
+     * @param key key to insert/update
+     * @param value value to associate
+     * @return old value if replaced, or null
+     * Time complexity: O(1) expected, O(n) when the table grows
+     */
+    @Override
+    public V put(K key, V value) {
+        int hashCode = key.hashCode();
+        int idx = home(hashCode);
+        K current;
+        while ((current = keys[idx]) != null) {
+            if (hashes[idx] == hashCode && current.equals(key)) {
+                V old = values[idx];
+                values[idx] = value;
+                return old;
+            }
+            if (++idx == keys.length) idx = 0;
+        }
+        if (isFull()) {
+            rehash();
+            idx = freeSlot(hashCode);
+        }
+        keys[idx] = key;
+        values[idx] = value;
+        hashes[idx] = hashCode;
+        currentSize++;
+        return null;
+    }
+
+    /**
+     * Returns the first empty slot of the probe sequence of a hash code.
+     *
+     * @param hashCode hash code of the key to place
+     * @return index of an empty slot
+     * Time complexity: O(1) expected
+     */
+    private int freeSlot(int hashCode) {
+        int idx = home(hashCode);
+        while (keys[idx] != null) {
+            if (++idx == keys.length) idx = 0;
+        }
+        return idx;
+    }
+
+    /**
+     * Rehashes the table into one about twice as large, using the cached hash codes
+     * Time complexity: O(n)
+     */
+    private void rehash() {
+        long start = rehashStarted();
+        K[] oldKeys = keys;
+        V[] oldValues = values;
+        int[] oldHashes = hashes;
+
+        allocate(tableLength(Math.max(3, oldKeys.length * 2)));
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == null) continue;
+            int idx = freeSlot(oldHashes[i]);
+            keys[idx] = oldKeys[i];
+            values[idx] = oldValues[i];
+            hashes[idx] = oldHashes[i];
+        }
+        rehashEnded(start);
+    }
+
+    /**
+     * Removes the entry with the specified key. The entries after it in the same
+     * cluster that may move closer to their home slot are shifted back.
+     *
+     * @param key key to remove
+     * @return old value associated with key, or null
+     * Time complexity: O(1) expected
+     */
+    @Override
+    public V remove(K key) {
+        int hole = search(key, key.hashCode());
+        if (hole == NOT_FOUND) return null;
+
+        V old = values[hole];
+        int idx = hole;
+        while (true) {
+            if (++idx == keys.length) idx = 0;
+            if (keys[idx] == null) break;
+            int h = home(hashes[idx]);
+            // the entry at idx may fill the hole unless its home lies cyclically in (hole, idx]
+            boolean homeAfterHole = hole <= idx ? (hole < h && h <= idx) : (hole < h || h <= idx);
+            if (!homeAfterHole) {
+                keys[hole] = keys[idx];
+                values[hole] = values[idx];
+                hashes[hole] = hashes[idx];
+                hole = idx;
+            }
+        }
+        keys[hole] = null;
+        values[hole] = null;
+        currentSize--;
+        return old;
+    }
+
+    /**
+     * Returns the number of slots.
+     *
+     * Time complexity: O(1)
+     * @return number of slots
+     */
+    protected int slotCount() {
+        return keys.length;
+    }
+
+    /**
+     * Counts the entries at each distance from their home slot.
+     *
+     * Time complexity: O(number of slots)
+     * @param histogram histogram of probe distances
+     */
+    protected void fillLengthHistogram(int[] histogram) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == null) continue;
+            int h = home(hashes[i]);
+            count(histogram, i >= h ? i - h : i + keys.length - h);
+        }
+    }
+
+    /**
+     * Returns an iterator over the entries
+     *
+     * @return iterator of entries
+     * Time complexity: O(1)
+     */
+    @Override
+    public Iterator<Entry<K,V>> iterator() {
+        return new OpenAddressingIterator();
+    }
+
+    /**
+     * Custom serialization: writes the number of entries and each key-value pair.
+     * Hash codes are not written, as they may differ in another virtual machine.
+     *
+     * Time complexity: O(n)
+     */
+    @Serial
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(keys.length);
+        out.writeInt(currentSize);
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == null) continue;
+            out.writeObject(keys[i]);
+            out.writeObject(values[i]);
+        }
+    }
+
+    /**
+     * Custom deserialization: rebuilds the arrays with freshly computed hash codes.
+     *
+     * Time complexity: O(n) expected
+     */
+    @Serial
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        allocate(in.readInt());
+        int size = in.readInt();
+        for (int n = 0; n < size; n++) {
+            K key = (K) in.readObject();
+            V value = (V) in.readObject();
+            int hashCode = key.hashCode();
+            int idx = freeSlot(hashCode);
+            keys[idx] = key;
+            values[idx] = value;
+            hashes[idx] = hashCode;
+        }
+    }
+
+    /**
+     * Iterator for OpenAddressingHashTable
+     */
+    private class OpenAddressingIterator implements Iterator<Entry<K,V>> {
+
+        /** Index of the next occupied slot (keys.length if none) */
+        private int index;
+
+        /**
+         * Constructor: rewinds to first occupied slot
+         * Time complexity: O(n)
+         */
+        public OpenAddressingIterator() {
+            rewind();
+        }
+
+        /**
+         * Advances index to the first occupied slot at or after it.
+         * Time complexity: O(n)
+         */
+        private void advance() {
+            while (index < keys.length && keys[index] == null)
+                index++;
+        }
+
+        /**
+         * Returns true if there is a next entry
+         *
+         * @return true if more elements exist
+         * Time complexity: O(1)
+         */
+        @Override
+        public boolean hasNext() {
+            return index < keys.length;
+        }
+
+        /**
+         * Returns the next entry
+         *
+         * @return next entry
+         * @throws NoSuchElementException if none available
+         * Time complexity: O(1) amortized
+         */
+        @Override
+        public Entry<K,V> next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            Entry<K,V> entry = new Entry<>(keys[index], values[index]);
+            index++;
+            advance();
+            return entry;
+        }
+
+        /**
+         * Rewinds the iterator to the first occupied slot
+         * Time complexity: O(n)
+         */
+        @Override
+        public void rewind() {
+            index = 0;
+            advance();
+        }
+    }
+}
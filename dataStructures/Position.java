@@ -0,0 +1,17 @@
+package dataStructures;
+
+/**
+ * Position Abstract Data Type
+ * Handle to the place an element occupies in a positional structure.
+ * The handle stays valid while the element is in the structure, so it can be
+ * used later to reach (or remove) the element without searching for it.
+ * @param <E> Generic Element
+ *
+ */
+public interface Position<E> {
+    /**
+     * Returns the element stored at this position.
+     * @return element at this position
+     */
+    E element( );
+}
@@ -0,0 +1,86 @@
+package dataStructures;
+
+import dataStructures.exceptions.InvalidPositionException;
+
+/**
+ * Doubly Linked List that hands out its nodes as positions,
+ * so that an element can be removed in O(1) given its position.
+ * @param <E> Generic Element
+ *
+ */
+public class PositionalDoublyLinkedList<E> extends DoublyLinkedList<E> implements PositionalList<E> {
+
+    /**
+     * Constructor of an empty list.
+     *
+     * Time complexity: O(1)
+     */
+    public PositionalDoublyLinkedList( ) {
+        super();
+    }
+
+    /**
+     * Inserts the element at the first position in the list.
+     * @param element - Element to be inserted
+     * @return position of the inserted element
+     *
+     * Time complexity: O(1)
+     */
+    public Position<E> addFirstNode( E element ) {
+        addFirst(element);
+        return head;
+    }
+
+    /**
+     * Inserts the element at the last position in the list.
+     * @param element - Element to be inserted
+     * @return position of the inserted element
+     *
+     * Time complexity: O(1)
+     */
+    public Position<E> addLastNode( E element ) {
+        addLast(element);
+        return tail;
+    }
+
+    /**
+     * Removes the element at the given position, unlinking its node.
+     * @param position - position returned by an insertion in this list
+     * @return element removed
+     * @throws InvalidPositionException - if the position is not a node of a list
+     * or its node was already removed
+     *
+     * Time complexity: O(1)
+     */
+    public E removeNode( Position<E> position ) {
+        if (!(position instanceof DoublyListNode<E> node))
+            throw new InvalidPositionException();
+
+        if (node == head)
+            return removeFirst();
+        if (node == tail)
+            return removeLast();
+
+        DoublyListNode<E> previous = node.getPrevious();
+        DoublyListNode<E> next = node.getNext();
+        if (previous == null || next == null)
+            throw new InvalidPositionException();
+
+        previous.setNext(next);
+        next.setPrevious(previous);
+        node.setPrevious(null);
+        node.setNext(null);
+        currentSize--;
+        return node.getElement();
+    }
+
+    /**
+     * Returns an iterator of the positions of the list (in proper sequence).
+     * @return Iterator of the positions in the list
+     *
+     * Time complexity: O(1)
+     */
+    public Iterator<Position<E>> positions( ) {
+        return new DoublyPositionIterator<>(head);
+    }
+}
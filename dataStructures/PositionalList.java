@@ -0,0 +1,41 @@
+package dataStructures;
+
+import dataStructures.exceptions.*;
+
+/**
+ * Positional List Abstract Data Type
+ * Two-way list whose insertions return a position (node handle) that can be
+ * used later to remove the element in constant time.
+ * @param <E> Generic Element
+ *
+ */
+public interface PositionalList<E> extends TwoWayList<E> {
+
+    /**
+     * Inserts the element at the first position in the list.
+     * @param element - Element to be inserted
+     * @return position of the inserted element
+     */
+    Position<E> addFirstNode( E element );
+
+    /**
+     * Inserts the element at the last position in the list.
+     * @param element - Element to be inserted
+     * @return position of the inserted element
+     */
+    Position<E> addLastNode( E element );
+
+    /**
+     * Removes the element at the given position.
+     * @param position - position returned by an insertion in this list
+     * @return element removed
+     * @throws InvalidPositionException - if the position does not belong to a list
+     */
+    E removeNode( Position<E> position );
+
+    /**
+     * Returns an iterator of the positions of the list (in proper sequence).
+     * @return Iterator of the positions in the list
+     */
+    Iterator<Position<E>> positions( );
+}
@@ -0,0 +1,74 @@
+package dataStructures;
+
+/**
+ * Open Addressing Hash Table with power of two sizes
+ * The table length is always a power of two, so growing it needs no prime search
+ * and the home slot of a key is found with a mask instead of an integer division.
+ * As a mask only keeps the low bits, hash codes are first mixed so that their
+ * high bits also decide the slot.
+ *
+ * @param <K> Generic Key
+ * @param <V> Generic Value
+ */
+public class PowerOfTwoHashTable<K,V> extends OpenAddressingHashTable<K,V> {
+
+    /** Largest power of two an array length may have */
+    static final int MAX_LENGTH = 1 << 30;
+
+    /**
+     * Default constructor
+     * Time complexity: O(n)
+     */
+    public PowerOfTwoHashTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor with capacity
+     *
+     * @param capacity initial capacity
+     * Time complexity: O(n)
+     */
+    public PowerOfTwoHashTable(int capacity) {
+        super(capacity);
+    }
+
+    /**
+     * Mixes the bits of a hash code: multiplies by the 32-bit golden ratio
+     * and folds the high half onto the low one.
+     *
+     * @param hashCode hash code of a key
+     * @return mixed hash code
+     * Time complexity: O(1)
+     */
+    static int spread(int hashCode) {
+        int h = hashCode * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Returns the smallest power of two not less than the given number.
+     *
+     * @param minimum lower bound of the length
+     * @return power of two not less than minimum
+     * Time complexity: O(1)
+     */
+    @Override
+    protected int tableLength(int minimum) {
+        if (minimum >= MAX_LENGTH) return MAX_LENGTH;
+        return minimum <= 2 ? 2 : Integer.highestOneBit(minimum - 1) << 1;
+    }
+
+    /**
+     * Returns the slot where the probe sequence of a hash code starts.
+     *
+     * @param hashCode hash code of a key
+     * @param length length of the table, a power of two
+     * @return slot in [0, length)
+     * Time complexity: O(1)
+     */
+    @Override
+    protected int slotOf(int hashCode, int length) {
+        return spread(hashCode) & (length - 1);
+    }
+}
@@ -0,0 +1,42 @@
+package dataStructures;
+import dataStructures.exceptions.*;
+/**
+ * Priority Queue Abstract Data Type
+ * Includes description of general methods for a queue that always serves
+ * its smallest element first (according to a comparator).
+ * @param <E> Generic Element
+ *
+ */
+public interface PriorityQueue<E> {
+    /**
+     * Returns true iff the priority queue contains no elements.
+     * @return true if there are no elements
+     */
+    boolean isEmpty( );
+
+    /**
+     * Returns the number of elements in the priority queue.
+     * @return number of elements
+     */
+    int size( );
+
+    /**
+     * Inserts the specified element in the priority queue.
+     * @param element element to insert
+     */
+    void insert( E element );
+
+    /**
+     * Returns the smallest element of the priority queue.
+     * @return smallest element
+     * @throws EmptyQueueException
+     */
+    E min( );
+
+    /**
+     * Removes and returns the smallest element of the priority queue.
+     * @return smallest element
+     * @throws EmptyQueueException
+     */
+    E removeMin( );
+}
@@ -17,8 +17,23 @@ class RBNode<E> extends BTNode<E> {
         super(element, parent, null, null);
     }
 
+    @Override
+    public RBNode<E> getParent() {
+        return (RBNode<E>) super.getParent();
+    }
+
+    @Override
+    public RBNode<E> getLeftChild() {
+        return (RBNode<E>) super.getLeftChild();
+    }
+
+    @Override
+    public RBNode<E> getRightChild() {
+        return (RBNode<E>) super.getRightChild();
+    }
+
     public boolean isLeftChild(){
-        Node<E> p = getParent();
+        BTNode<E> p = getParent();
         if (p == null) return false;
         return this == p.getLeftChild();
     }
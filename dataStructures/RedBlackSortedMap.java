@@ -19,6 +19,53 @@ public class RedBlackSortedMap<K extends Comparable<K>, V> extends AdvancedBSTre
         super();
     }
 
+    /**
+     * Bulk-build constructor: builds a perfectly balanced tree from entries
+     * given in increasing key order, without comparisons or rotations.
+     * @param sortedEntries iterator of the entries, in strictly increasing key order
+     * @param n number of entries to take from the iterator
+     * Time complexity: O(n)
+     */
+    public RedBlackSortedMap(Iterator<Entry<K, V>> sortedEntries, int n) {
+        super();
+        root = build(sortedEntries, n, 0, redLevel(n));
+        currentSize = n;
+    }
+
+    /**
+     * Returns the depth of the deepest level of a perfectly balanced tree with
+     * n nodes, which is the only incomplete level unless the tree is full.
+     * Time complexity: O(log n)
+     */
+    private static int redLevel(int n) {
+        int level = 0;
+        for (int m = n - 1; m >= 0; m = m / 2 - 1) level++;
+        return level;
+    }
+
+    /**
+     * Builds a perfectly balanced tree from the next n entries of an iterator,
+     * the middle entry at the root. The nodes of the deepest level are red, if
+     * that level is incomplete, and all others black, so every path from the
+     * root to a null child has the same number of black nodes.
+     * @param sortedEntries iterator of the entries, in increasing key order
+     * @param n number of entries to take from the iterator
+     * @param level depth of the subtree root
+     * @param redLevel depth of the red nodes
+     * Time complexity: O(n)
+     * @return root of the new tree, null if n is 0
+     */
+    private RBNode<Entry<K, V>> build(Iterator<Entry<K, V>> sortedEntries, int n, int level, int redLevel) {
+        if (n == 0) return null;
+        int leftSize = (n - 1) / 2;
+        RBNode<Entry<K, V>> left = build(sortedEntries, leftSize, level + 1, redLevel);
+        Entry<K, V> entry = sortedEntries.next();
+        RBNode<Entry<K, V>> right = build(sortedEntries, n - 1 - leftSize, level + 1, redLevel);
+        RBNode<Entry<K, V>> node = new RBNode<>(entry, null, left, right);
+        node.setColor(level == redLevel ? Color.RED : Color.BLACK);
+        return node;
+    }
+
     /**
      * Insert or update a key-value pair in the map.
      * @param key Key to insert or update
@@ -29,18 +76,15 @@ public class RedBlackSortedMap<K extends Comparable<K>, V> extends AdvancedBSTre
     @Override
     public V put(K key, V value) {
         V old = super.put(key, value);
-        if (old == null) {
-            currentSize++;
-        }
         @SuppressWarnings("unchecked")
-        RBNode<Entry<K, V>> node = (RBNode<Entry<K, V>>) super.locateNode(root, key);
-        if (node != null) recolorAndRotate(node);
+        RBNode<Entry<K, V>> node = (RBNode<Entry<K, V>>) super.locateNode((BTNode<Entry<K, V>>) root, key);
+        if (old == null && node != null) recolorAndRotate(node);
         return old;
     }
 
     private void recolorAndRotate(RBNode<Entry<K,V>> node){
         RBNode<Entry<K,V>> parent = node.getParent();
-        if(node!=null && parent.getColor() == Color.RED){
+        if(parent != null && parent.getColor() == Color.RED){
             RBNode<Entry<K,V>> gParent = node.getParent().getParent();
             RBNode<Entry<K,V>> uncle = parent.isLeftChild() ? gParent.getRightChild() :
                     gParent.getLeftChild();
@@ -68,11 +112,11 @@ public class RedBlackSortedMap<K extends Comparable<K>, V> extends AdvancedBSTre
                                      RBNode<Entry<K,V>> gParent){
         if(!node.isLeftChild()){
             rotateLeft(parent);
+            parent = node;
         }
-        parent.flipColor();
-        gParent.flipColor();
+        parent.setColor(Color.BLACK);
+        gParent.setColor(Color.RED);
         rotateRight(gParent);
-        recolorAndRotate(node.isLeftChild() ? parent : gParent);
     }
 
     @SuppressWarnings("unchecked")
@@ -80,11 +124,11 @@ public class RedBlackSortedMap<K extends Comparable<K>, V> extends AdvancedBSTre
                                      RBNode<Entry<K,V>> gParent){
         if(node.isLeftChild()){
             rotateRight(parent);
+            parent = node;
         }
-        parent.flipColor();
-        gParent.flipColor();
+        parent.setColor(Color.BLACK);
+        gParent.setColor(Color.RED);
         rotateLeft(gParent);
-        recolorAndRotate(node.isLeftChild() ? gParent : parent);
     }
 
     @Override
@@ -97,7 +141,7 @@ public class RedBlackSortedMap<K extends Comparable<K>, V> extends AdvancedBSTre
     @Override
     public V remove(K key) throws NoSuchElementException {
         @SuppressWarnings("unchecked")
-        BTNode<Entry<K, V>> found = super.locateNode(root, key);
+        BTNode<Entry<K, V>> found = super.locateNode((BTNode<Entry<K, V>>) root, key);
         if (found == null) throw new NoSuchElementException();
 
         @SuppressWarnings("unchecked")
@@ -225,4 +269,32 @@ public class RedBlackSortedMap<K extends Comparable<K>, V> extends AdvancedBSTre
         }
         if (x != null) x.setColor(Color.BLACK);
     }
+
+    /**
+     * Custom serialization: writes map size and all entries in key order.
+     * @param out output stream
+     * @throws IOException
+     * Time complexity: O(n)
+     */
+    @Serial
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(currentSize);
+        writeEntries(out, (BTNode<Entry<K, V>>) root);
+    }
+
+    /**
+     * Custom deserialization: bulk-builds the tree from the serialized entries.
+     * @param in input stream
+     * @throws IOException
+     * @throws ClassNotFoundException
+     * Time complexity: O(n)
+     */
+    @Serial
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        int n = in.readInt();
+        root = build(readEntries(in, n), n, 0, redLevel(n));
+        currentSize = n;
+    }
 }
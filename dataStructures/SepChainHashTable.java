@@ -14,19 +14,44 @@ public class SepChainHashTable<K,V> extends HashTable<K,V> {
     static final float IDEAL_LOAD_FACTOR = 0.75f;
     static final float MAX_LOAD_FACTOR = 0.9f;
 
+    /** Number of old buckets moved to the new table by each update, in incremental mode */
+    static final int MIGRATION_STEP = 4;
+
     /** Array of buckets, each bucket is a Map based on a list */
     private Map<K,V>[] table;
 
+    /** If true, rehashing moves the buckets a few at a time instead of all at once */
+    private final boolean incremental;
+
+    /** Table being emptied into table during an incremental rehash, or null */
+    private Map<K,V>[] oldTable;
+
+    /** Buckets of oldTable below this index have already been moved */
+    private int migrated;
+
     /** Default constructor */
     public SepChainHashTable() {
-        super(DEFAULT_CAPACITY);
-        table = makeTable((int) (DEFAULT_CAPACITY * IDEAL_LOAD_FACTOR));
+        this(DEFAULT_CAPACITY);
     }
 
     /** Constructor with initial capacity */
     public SepChainHashTable(int capacity) {
+        this(capacity, false);
+    }
+
+    /**
+     * Constructor with initial capacity and resize mode.
+     * In incremental mode the put that crosses the load factor only allocates the
+     * new table; every later put and remove moves MIGRATION_STEP buckets of the old
+     * one, so no single update pays for the whole rehash.
+     *
+     * @param capacity initial capacity
+     * @param incremental true to spread rehashing over later updates
+     */
+    public SepChainHashTable(int capacity, boolean incremental) {
         super(capacity);
-        table = makeTable((int) (capacity * IDEAL_LOAD_FACTOR));
+        this.incremental = incremental;
+        table = makeTable(Math.max(1, (int) (capacity * IDEAL_LOAD_FACTOR)));
     }
 
     /** Creates a generic Map array */
@@ -35,9 +60,34 @@ public class SepChainHashTable<K,V> extends HashTable<K,V> {
         return (Map<K,V>[]) java.lang.reflect.Array.newInstance(Map.class, length);
     }
 
-    /** Returns the hash index for a key */
+    /** Returns the hash index for a key (never negative, even for Integer.MIN_VALUE) */
     protected int hash(K key) {
-        return Math.abs(key.hashCode()) % table.length;
+        return (key.hashCode() & 0x7FFFFFFF) % table.length;
+    }
+
+    /**
+     * Returns the bucket where the key is or must be inserted: its bucket of the old
+     * table if that one has not been moved yet, its bucket of the current table otherwise.
+     *
+     * Time complexity: O(1)
+     * @param key key to locate
+     * @param create true to create the bucket if it is empty
+     * @return bucket of the key, or null if the bucket is empty and create is false
+     */
+    private Map<K,V> bucketOf(K key, boolean create) {
+        Map<K,V>[] buckets = table;
+        int idx;
+        if (oldTable != null && (idx = (key.hashCode() & 0x7FFFFFFF) % oldTable.length) >= migrated)
+            buckets = oldTable;
+        else
+            idx = hash(key);
+
+        Map<K,V> bucket = buckets[idx];
+        if (bucket == null && create) {
+            bucket = new MapSinglyList<>();
+            buckets[idx] = bucket;
+        }
+        return bucket;
     }
 
     /**
@@ -48,8 +98,7 @@ public class SepChainHashTable<K,V> extends HashTable<K,V> {
      */
     public V get(K key) {
         if (key == null) throw new NoSuchElementException();
-        int idx = hash(key);
-        Map<K,V> bucket = table[idx];
+        Map<K,V> bucket = bucketOf(key, false);
         if (bucket == null) return null;
         return bucket.get(key);
     }
@@ -57,53 +106,67 @@ public class SepChainHashTable<K,V> extends HashTable<K,V> {
     /**
      * Inserts or updates the key with the given value.
      *
-     * Time complexity (average): O(1 + α)
+     * Time complexity (average): O(1 + α); O(n) when the table grows, unless incremental
      * @param key the key to insert/update
      * @param value the value to associate with the key
      * @return previous value associated with the key, or null if none
      */
     public V put(K key, V value) {
+        if (oldTable != null) migrate(MIGRATION_STEP);
         if (isFull()) rehash();
 
-        int idx = hash(key);
-        Map<K,V> bucket = table[idx];
-        if (bucket == null) {
-            bucket = new MapSinglyList<>();
-            table[idx] = bucket;
-        }
-
-        V old = bucket.put(key, value);
+        V old = bucketOf(key, true).put(key, value);
         if (old == null) currentSize++;
         return old;
     }
 
-    /** Rehashes the table when the maximum load factor is reached */
+    /**
+     * Rehashes the table when the maximum load factor is reached.
+     * In incremental mode the buckets are moved later, by migrate.
+     */
     private void rehash() {
+        long start = rehashStarted();
+        if (oldTable != null) migrate(oldTable.length);
+
         int oldCapacity = (table == null ? 0 : table.length);
         int proposed = oldCapacity <= 1 ? 3 : oldCapacity * 2;
         int newCapacity = HashTable.nextPrime(proposed);
         if (newCapacity == 0) newCapacity = proposed;
 
-        @SuppressWarnings("unchecked")
-        Map<K,V>[] newTable = makeTable(newCapacity);
+        oldTable = table;
+        migrated = 0;
+        table = makeTable(newCapacity);
+        this.maxSize = (int) (table.length * MAX_LOAD_FACTOR);
+        if (!incremental) migrate(oldTable.length);
+        rehashEnded(start);
+    }
 
-        for (Map<K, V> bucket : table) {
+    /**
+     * Moves up to the given number of buckets of the old table to the current one,
+     * dropping the old table once it has been emptied.
+     *
+     * Time complexity (average): O(buckets * (1 + α))
+     * @param buckets maximum number of old buckets to move
+     */
+    private void migrate(int buckets) {
+        int end = Math.min(oldTable.length, migrated + buckets);
+        for (; migrated < end; migrated++) {
+            Map<K,V> bucket = oldTable[migrated];
             if (bucket == null) continue;
+            oldTable[migrated] = null;
             Iterator<Map.Entry<K, V>> it = bucket.iterator();
             while (it.hasNext()) {
                 Map.Entry<K, V> e = it.next();
-                int idx = Math.abs(e.key().hashCode()) % newTable.length;
-                Map<K,V> nb = newTable[idx];
+                int idx = hash(e.key());
+                Map<K,V> nb = table[idx];
                 if (nb == null) {
                     nb = new MapSinglyList<>();
-                    newTable[idx] = nb;
+                    table[idx] = nb;
                 }
                 nb.put(e.key(), e.value());
             }
         }
-
-        table = newTable;
-        this.maxSize = (int) (table.length * MAX_LOAD_FACTOR);
+        if (migrated == oldTable.length) oldTable = null;
     }
 
     /**
@@ -115,21 +178,46 @@ public class SepChainHashTable<K,V> extends HashTable<K,V> {
      */
     public V remove(K key) {
         if (key == null) throw new NoSuchElementException();
-        int idx = hash(key);
-        Map<K,V> bucket = table[idx];
+        if (oldTable != null) migrate(MIGRATION_STEP);
+        Map<K,V> bucket = bucketOf(key, false);
         if (bucket == null) return null;
         V old = bucket.remove(key);
         if (old != null) currentSize--;
         return old;
     }
 
+    /**
+     * Returns the number of buckets, old ones still to be moved included.
+     *
+     * Time complexity: O(1)
+     * @return number of buckets
+     */
+    protected int slotCount() {
+        return table.length + (oldTable == null ? 0 : oldTable.length - migrated);
+    }
+
+    /**
+     * Counts the buckets with each chain length.
+     *
+     * Time complexity: O(n + number of buckets)
+     * @param histogram histogram of chain lengths
+     */
+    protected void fillLengthHistogram(int[] histogram) {
+        if (oldTable != null)
+            for (int i = migrated; i < oldTable.length; i++)
+                count(histogram, oldTable[i] == null ? 0 : oldTable[i].size());
+        for (Map<K,V> bucket : table)
+            count(histogram, bucket == null ? 0 : bucket.size());
+    }
+
     /**
      * Returns an iterator over all (key, value) pairs in the table.
+     * During an incremental rehash it goes through the old table and then the new one.
      *
      * Time complexity: O(n), n = number of elements
      * @return iterator over all entries
      */
     public Iterator<Entry<K, V>> iterator() {
-        return new SepChainHashTableIterator<>(table);
+        return new SepChainHashTableIterator<>(oldTable, table);
     }
 }
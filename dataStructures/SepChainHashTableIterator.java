@@ -5,6 +5,8 @@ import dataStructures.exceptions.NoSuchElementException;
 /**
  * Iterator for SepChainHashTable
  * Iterates over all elements in the hash table (all buckets).
+ * During an incremental rehash it goes through the buckets of the old table
+ * and then through those of the new one.
  *
  * @param <K> Key type
  * @param <V> Value type
@@ -14,6 +16,12 @@ class SepChainHashTableIterator<K,V> implements Iterator<Map.Entry<K,V>> {
     /** Array of buckets (each bucket is a Map) */
     private final Map<K,V>[] table;
 
+    /** Buckets not yet moved by an incremental rehash (null if none) */
+    private final Map<K,V>[] oldTable;
+
+    /** Number of buckets in both arrays */
+    private final int buckets;
+
     /** Current index in the array of buckets */
     private int currentIndex;
 
@@ -27,12 +35,35 @@ class SepChainHashTableIterator<K,V> implements Iterator<Map.Entry<K,V>> {
      * @param table array of buckets
      */
     public SepChainHashTableIterator(Map<K,V>[] table) {
+        this(null, table);
+    }
+
+    /**
+     * Constructor for a table in the middle of an incremental rehash
+     *
+     * Time complexity: O(1)
+     * @param oldTable buckets of the old table (null if there is none)
+     * @param table buckets of the new table
+     */
+    public SepChainHashTableIterator(Map<K,V>[] oldTable, Map<K,V>[] table) {
+        this.oldTable = oldTable;
         this.table = table;
+        this.buckets = (oldTable == null ? 0 : oldTable.length) + table.length;
         this.currentIndex = -1;
         this.currentIterator = null;
         advanceToNextBucket();
     }
 
+    /**
+     * Returns the bucket at the given position of the old table followed by the new one
+     *
+     * Time complexity: O(1)
+     */
+    private Map<K,V> bucket(int index) {
+        if (oldTable == null) return table[index];
+        return index < oldTable.length ? oldTable[index] : table[index - oldTable.length];
+    }
+
     /**
      * Advances to the next non-empty bucket
      *
@@ -41,8 +72,8 @@ class SepChainHashTableIterator<K,V> implements Iterator<Map.Entry<K,V>> {
     private void advanceToNextBucket() {
         currentIterator = null;
         currentIndex++;
-        while (currentIndex < table.length) {
-            Map<K,V> bucket = table[currentIndex];
+        while (currentIndex < buckets) {
+            Map<K,V> bucket = bucket(currentIndex);
             if (bucket != null && !bucket.isEmpty()) {
                 currentIterator = bucket.iterator();
                 break;
@@ -61,8 +92,8 @@ class SepChainHashTableIterator<K,V> implements Iterator<Map.Entry<K,V>> {
         if (currentIterator != null && currentIterator.hasNext()) return true;
 
         int tempIndex = currentIndex + 1;
-        while (tempIndex < table.length) {
-            Map<K,V> bucket = table[tempIndex];
+        while (tempIndex < buckets) {
+            Map<K,V> bucket = bucket(tempIndex);
             if (bucket != null && !bucket.isEmpty()) return true;
             tempIndex++;
         }
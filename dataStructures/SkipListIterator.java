@@ -0,0 +1,63 @@
+package dataStructures;
+
+import dataStructures.exceptions.NoSuchElementException;
+
+/**
+ * Iterator of a Skip List (walks the bottom level)
+ *
+ * @param <E> Generic Element
+ */
+class SkipListIterator<E> implements Iterator<E> {
+
+    /** Node with the first element in the iteration */
+    private final SkipListNode<E> firstNode;
+
+    /** Node with the next element to be returned */
+    private SkipListNode<E> nextToReturn;
+
+    /**
+     * Constructor
+     * @param first node with the first element of the iteration
+     */
+    public SkipListIterator(SkipListNode<E> first) {
+        this.firstNode = first;
+        this.nextToReturn = first;
+    }
+
+    /**
+     * Returns the next element in the iteration.
+     *
+     * Time complexity: O(1)
+     * @return the next element in the iteration
+     * @throws NoSuchElementException - if call is made without verifying pre-condition
+     */
+    @Override
+    public E next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        E elem = nextToReturn.element;
+        nextToReturn = nextToReturn.next[0];
+        return elem;
+    }
+
+    /**
+     * Restarts the iteration.
+     *
+     * Time complexity: O(1)
+     */
+    @Override
+    public void rewind() {
+        nextToReturn = firstNode;
+    }
+
+    /**
+     * Returns true if the iteration has more elements.
+     *
+     * Time complexity: O(1)
+     * @return true iff the iteration has more elements
+     */
+    @Override
+    public boolean hasNext() {
+        return nextToReturn != null;
+    }
+}
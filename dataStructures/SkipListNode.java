@@ -0,0 +1,27 @@
+package dataStructures;
+
+/**
+ * Skip List Node Implementation
+ * Stores an element and one forward pointer per level of the node.
+ *
+ * @param <E> Generic Element
+ */
+class SkipListNode<E> {
+
+    /** Element stored in the node (null in the header) */
+    final E element;
+
+    /** next[i] is the following node at level i */
+    final SkipListNode<E>[] next;
+
+    /**
+     * Constructor
+     * @param element element to store
+     * @param levels number of levels of the node
+     */
+    @SuppressWarnings("unchecked")
+    SkipListNode(E element, int levels) {
+        this.element = element;
+        this.next = (SkipListNode<E>[]) new SkipListNode[levels];
+    }
+}
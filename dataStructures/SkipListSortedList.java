@@ -0,0 +1,290 @@
+package dataStructures;
+
+import dataStructures.exceptions.*;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+
+/**
+ * Skip List Implementation of a Sorted List
+ * Every node is on level 0; each level above holds about half of the nodes of the
+ * level below (levels are drawn from a xorshift generator), so searches skip most
+ * of the list. Elements equal according to the comparator keep their insertion order.
+ * @param <E> Generic Element
+ */
+public class SkipListSortedList<E> implements SortedList<E> {
+
+    private static final long serialVersionUID = 0L;
+
+    /** Maximum number of levels (enough for 2^32 elements) */
+    private static final int MAX_LEVEL = 32;
+
+    /** Default seed used when the clock gives a zero seed */
+    private static final long DEFAULT_SEED = 0x9E3779B97F4A7C15L;
+
+    /** Header node: next[i] is the first node at level i */
+    private transient SkipListNode<E> header;
+
+    /** Last node of the list (null if empty) */
+    private transient SkipListNode<E> tail;
+
+    /** Number of levels in use */
+    private transient int levels;
+
+    /** Number of elements in the list */
+    private transient int currentSize;
+
+    /** State of the xorshift random generator */
+    private transient long seed;
+
+    /** Comparator of elements */
+    private final Comparator<E> comparator;
+
+    /**
+     * Constructor of an empty skip list.
+     * @param comparator order of the elements
+     *
+     * Time complexity: O(1)
+     */
+    public SkipListSortedList(Comparator<E> comparator) {
+        this.comparator = comparator;
+        initialize();
+    }
+
+    /**
+     * Resets the list to empty and seeds the generator.
+     *
+     * Time complexity: O(1)
+     */
+    private void initialize() {
+        header = new SkipListNode<>(null, MAX_LEVEL);
+        tail = null;
+        levels = 1;
+        currentSize = 0;
+        seed = System.nanoTime() ^ DEFAULT_SEED;
+        if (seed == 0) seed = DEFAULT_SEED;
+    }
+
+    /**
+     * Draws the number of levels of a new node: 1 + number of trailing one bits
+     * of a random word (level k has probability 1/2^k).
+     *
+     * Time complexity: O(1)
+     */
+    private int randomLevels() {
+        seed ^= seed << 13;
+        seed ^= seed >>> 7;
+        seed ^= seed << 17;
+        int level = 1 + Long.numberOfTrailingZeros(~seed);
+        return Math.min(level, MAX_LEVEL);
+    }
+
+    /**
+     * Returns true iff the list contains no elements.
+     * @return true if list is empty
+     *
+     * Time complexity: O(1)
+     */
+    public boolean isEmpty() {
+        return currentSize == 0;
+    }
+
+    /**
+     * Returns the number of elements in the list.
+     * @return number of elements in the list
+     *
+     * Time complexity: O(1)
+     */
+    public int size() {
+        return currentSize;
+    }
+
+    /**
+     * Returns an iterator of the elements in the list (in proper sequence).
+     * @return Iterator of the elements in the list
+     *
+     * Time complexity: O(1)
+     */
+    public Iterator<E> iterator() {
+        return new SkipListIterator<>(header.next[0]);
+    }
+
+    /**
+     * Returns the first element of the list.
+     * @return first element in the list
+     * @throws NoSuchElementException - if size() == 0
+     *
+     * Time complexity: O(1)
+     */
+    public E getMin() {
+        if (isEmpty())
+            throw new NoSuchElementException();
+        return header.next[0].element;
+    }
+
+    /**
+     * Returns the last element of the list.
+     * @return last element in the list
+     * @throws NoSuchElementException - if size() == 0
+     *
+     * Time complexity: O(1)
+     */
+    public E getMax() {
+        if (isEmpty())
+            throw new NoSuchElementException();
+        return tail.element;
+    }
+
+    /**
+     * Fills update[i] with the last node at level i that the element goes after:
+     * for an insertion, every node not greater than the element (the comparator is
+     * called as compare(element, elementInList), as in SortedDoublyLinkedList);
+     * for a removal, every node smaller than the element.
+     *
+     * Time complexity: O(log n) expected
+     */
+    private void findPredecessors(E element, boolean afterEquals, SkipListNode<E>[] update) {
+        SkipListNode<E> current = header;
+        for (int i = levels - 1; i >= 0; i--) {
+            SkipListNode<E> next = current.next[i];
+            while (next != null && (afterEquals ? comparator.compare(element, next.element) >= 0
+                                                : comparator.compare(next.element, element) < 0)) {
+                current = next;
+                next = current.next[i];
+            }
+            update[i] = current;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private SkipListNode<E>[] newUpdate() {
+        return (SkipListNode<E>[]) new SkipListNode[MAX_LEVEL];
+    }
+
+    /**
+     * Returns the first occurrence of the element equals to the given element in the list.
+     * @return element in the list or null
+     *
+     * Time complexity: O(log n) expected
+     */
+    public E get(E element) {
+        SkipListNode<E> current = header;
+        for (int i = levels - 1; i >= 0; i--) {
+            SkipListNode<E> next = current.next[i];
+            while (next != null && comparator.compare(next.element, element) < 0) {
+                current = next;
+                next = current.next[i];
+            }
+        }
+        SkipListNode<E> candidate = current.next[0];
+        if (candidate != null && comparator.compare(candidate.element, element) == 0)
+            return candidate.element;
+        return null;
+    }
+
+    /**
+     * Returns true iff the element exists in the list.
+     * @param element to be found
+     * @return true iff the element exists in the list.
+     *
+     * Time complexity: O(log n) expected
+     */
+    public boolean contains(E element) {
+        return get(element) != null;
+    }
+
+    /**
+     * Inserts the specified element at the list, according to the comparator.
+     * If there is an equal element, the new element is inserted after it.
+     * @param element to be inserted
+     *
+     * Time complexity: O(log n) expected
+     */
+    public void add(E element) {
+        SkipListNode<E>[] update = newUpdate();
+        findPredecessors(element, true, update);
+
+        int nodeLevels = randomLevels();
+        if (nodeLevels > levels) {
+            for (int i = levels; i < nodeLevels; i++) update[i] = header;
+            levels = nodeLevels;
+        }
+
+        SkipListNode<E> node = new SkipListNode<>(element, nodeLevels);
+        for (int i = 0; i < nodeLevels; i++) {
+            node.next[i] = update[i].next[i];
+            update[i].next[i] = node;
+        }
+        if (node.next[0] == null) tail = node;
+        currentSize++;
+    }
+
+    /**
+     * Removes and returns the first occurrence of the element equals to the given element in the list.
+     * @return element removed from the list or null if !belongs(element)
+     *
+     * Time complexity: O(log n) expected
+     */
+    public E remove(E element) {
+        SkipListNode<E>[] update = newUpdate();
+        findPredecessors(element, false, update);
+
+        SkipListNode<E> node = update[0].next[0];
+        if (node == null || comparator.compare(node.element, element) != 0)
+            return null;
+
+        for (int i = 0; i < node.next.length; i++) {
+            if (update[i].next[i] == node) update[i].next[i] = node.next[i];
+        }
+        if (tail == node) tail = update[0] == header ? null : update[0];
+        while (levels > 1 && header.next[levels - 1] == null) levels--;
+        currentSize--;
+        return node.element;
+    }
+
+    /**
+     * Custom serialization: writes the comparator, the number of elements and
+     * each element in order.
+     *
+     * Time complexity: O(n)
+     */
+    @Serial
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(currentSize);
+        for (SkipListNode<E> current = header.next[0]; current != null; current = current.next[0]) {
+            out.writeObject(current.element);
+        }
+    }
+
+    /**
+     * Custom deserialization: the elements come sorted, so each one is appended
+     * at the end of every level it gets, without searching.
+     *
+     * Time complexity: O(n) expected
+     */
+    @Serial
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        initialize();
+        int size = in.readInt();
+
+        SkipListNode<E>[] last = newUpdate();
+        for (int i = 0; i < MAX_LEVEL; i++) last[i] = header;
+
+        for (int n = 0; n < size; n++) {
+            @SuppressWarnings("unchecked")
+            E element = (E) in.readObject();
+            int nodeLevels = randomLevels();
+            SkipListNode<E> node = new SkipListNode<>(element, nodeLevels);
+            for (int i = 0; i < nodeLevels; i++) {
+                last[i].next[i] = node;
+                last[i] = node;
+            }
+            if (nodeLevels > levels) levels = nodeLevels;
+            tail = node;
+        }
+        currentSize = size;
+    }
+}
@@ -32,7 +32,7 @@ public class SortedDoublyLinkedList<E> implements SortedList<E> {
     /**
      * Comparator of elements.
      */
-    private transient final Comparator<E> comparator;
+    private final Comparator<E> comparator;
 
     /**
      * Constructor of an empty sorted double linked list.
@@ -217,7 +217,6 @@ public class SortedDoublyLinkedList<E> implements SortedList<E> {
         for (DoublyListNode<E> current = head; current != null; current = current.getNext()) {
             out.writeObject(current.getElement());
         }
-        // Note: comparator is transient and not serialized
     }
 
     @Serial
@@ -30,5 +30,32 @@ public interface SortedMap<K extends Comparable<K>, V>
      */
     Entry<K,V> maxEntry( );
 
+    /**
+     * Returns the entry with the largest key less than or equal to the given key.
+     *
+     * @param key key to search
+     * @return entry with the floor key, or null if there is none
+     */
+    Entry<K,V> floorEntry( K key );
+
+    /**
+     * Returns the entry with the smallest key greater than or equal to the given key.
+     *
+     * @param key key to search
+     * @return entry with the ceiling key, or null if there is none
+     */
+    Entry<K,V> ceilingEntry( K key );
+
+    /**
+     * Returns an iterator, in key order, of the entries with keys from fromKey
+     * (inclusive) to toKey (exclusive). The entries are found as the iteration
+     * proceeds, not copied.
+     *
+     * @param fromKey lower bound of the keys (inclusive)
+     * @param toKey upper bound of the keys (exclusive)
+     * @return iterator of the entries in the range
+     */
+    Iterator<Entry<K,V>> subMap( K fromKey, K toKey );
+
 } 
 
@@ -0,0 +1,187 @@
+package dataStructures;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Runnable check of the structural invariants of the balanced search trees.
+ * It lives in this package because the node classes are package-private.
+ * - AVLSortedMap: every node stores its height and subtree size, the heights
+ *   of its children differ by at most one, and children point back to it.
+ * - RedBlackSortedMap: the root is black, no red node has a red child and
+ *   every path from a node to a null link has the same number of black nodes.
+ * Both trees go through random puts and removes, checked against
+ * java.util.TreeMap, and through the bulk-build constructors and a
+ * serialization round trip. Small key ranges make removals with height ties
+ * frequent, which is where AVL rebalancing needs a single rotation.
+ * Any broken invariant throws an IllegalStateException.
+ *
+ * Usage: java dataStructures.SortedMapInvariantCheck
+ */
+final class SortedMapInvariantCheck {
+
+    private SortedMapInvariantCheck() {
+    }
+
+    public static void main(String[] args) throws IOException, ClassNotFoundException {
+        randomOperations();
+        bulkBuild();
+        System.out.println("sorted map invariants ok");
+    }
+
+    /**
+     * Random puts and removes on small and larger key ranges, with the
+     * invariants checked after every operation on the small ones.
+     */
+    private static void randomOperations() {
+        for (int seed = 0; seed < 200; seed++) {
+            Random random = new Random(seed);
+            int range = seed < 150 ? 50 : 2000;
+            AVLSortedMap<Integer, Integer> avl = new AVLSortedMap<>();
+            RedBlackSortedMap<Integer, Integer> rb = new RedBlackSortedMap<>();
+            TreeMap<Integer, Integer> reference = new TreeMap<>();
+            for (int op = 0; op < 3000; op++) {
+                int key = random.nextInt(range);
+                if (random.nextInt(3) > 0) {
+                    avl.put(key, op);
+                    rb.put(key, op);
+                    reference.put(key, op);
+                } else if (reference.remove(key) != null) {
+                    avl.remove(key);
+                    rb.remove(key);
+                }
+                if (range <= 50 || op % 100 == 0) {
+                    checkAVL(avl);
+                    checkRedBlack(rb);
+                    checkContents(avl, reference);
+                    checkContents(rb, reference);
+                }
+            }
+        }
+    }
+
+    /**
+     * Trees built from sorted entries, of every size up to a few hundred,
+     * checked as built, after a serialization round trip and after random
+     * updates.
+     */
+    @SuppressWarnings("unchecked")
+    private static void bulkBuild() throws IOException, ClassNotFoundException {
+        for (int n = 0; n < 600; n++) {
+            Map.Entry<Integer, Integer>[] entries = new Map.Entry[n];
+            TreeMap<Integer, Integer> reference = new TreeMap<>();
+            for (int i = 0; i < n; i++) {
+                entries[i] = new Map.Entry<>(2 * i, i);
+                reference.put(2 * i, i);
+            }
+            AVLSortedMap<Integer, Integer> avl = new AVLSortedMap<>(new ArrayIterator<>(entries, n), n);
+            RedBlackSortedMap<Integer, Integer> rb = new RedBlackSortedMap<>(new ArrayIterator<>(entries, n), n);
+            checkAVL(avl);
+            checkRedBlack(rb);
+
+            avl = roundTrip(avl);
+            rb = roundTrip(rb);
+            checkAVL(avl);
+            checkRedBlack(rb);
+            checkContents(avl, reference);
+            checkContents(rb, reference);
+
+            Random random = new Random(n);
+            for (int op = 0; op < 200; op++) {
+                int key = random.nextInt(2 * n + 3);
+                if (random.nextBoolean()) {
+                    avl.put(key, op);
+                    rb.put(key, op);
+                    reference.put(key, op);
+                } else if (reference.remove(key) != null) {
+                    avl.remove(key);
+                    rb.remove(key);
+                }
+            }
+            checkAVL(avl);
+            checkRedBlack(rb);
+            checkContents(avl, reference);
+            checkContents(rb, reference);
+        }
+    }
+
+    private static void checkAVL(AVLSortedMap<Integer, Integer> map) {
+        AVLNode<?> root = (AVLNode<?>) map.root;
+        if (root != null && root.getParent() != null) throw new IllegalStateException("avl root has a parent");
+        checkAVL(root);
+        if (AVLNode.size(root) != map.size()) throw new IllegalStateException("avl size");
+    }
+
+    /**
+     * Checks an AVL subtree and returns its height (-1 for an empty one).
+     */
+    private static int checkAVL(AVLNode<?> node) {
+        if (node == null) return -1;
+        AVLNode<?> left = (AVLNode<?>) node.getLeftChild();
+        AVLNode<?> right = (AVLNode<?>) node.getRightChild();
+        if (left != null && left.getParent() != node || right != null && right.getParent() != node)
+            throw new IllegalStateException("avl parent link");
+        int leftHeight = checkAVL(left);
+        int rightHeight = checkAVL(right);
+        if (Math.abs(leftHeight - rightHeight) > 1) throw new IllegalStateException("avl balance");
+        if (node.getHeight() != 1 + Math.max(leftHeight, rightHeight)) throw new IllegalStateException("avl height");
+        if (node.getSize() != 1 + AVLNode.size(left) + AVLNode.size(right)) throw new IllegalStateException("avl subtree size");
+        return node.getHeight();
+    }
+
+    private static void checkRedBlack(RedBlackSortedMap<Integer, Integer> map) {
+        RBNode<?> root = (RBNode<?>) map.root;
+        if (root == null) return;
+        if (root.getParent() != null) throw new IllegalStateException("red-black root has a parent");
+        if (root.getColor() != Color.BLACK) throw new IllegalStateException("red-black root is red");
+        blackHeight(root);
+    }
+
+    /**
+     * Checks a red-black subtree and returns its black height (1 for a null link).
+     */
+    private static int blackHeight(RBNode<?> node) {
+        if (node == null) return 1;
+        RBNode<?> left = node.getLeftChild();
+        RBNode<?> right = node.getRightChild();
+        if (left != null && left.getParent() != node || right != null && right.getParent() != node)
+            throw new IllegalStateException("red-black parent link");
+        if (node.getColor() == Color.RED
+                && (left != null && left.getColor() == Color.RED || right != null && right.getColor() == Color.RED))
+            throw new IllegalStateException("red-black red node with a red child");
+        int leftBlack = blackHeight(left);
+        if (leftBlack != blackHeight(right)) throw new IllegalStateException("red-black black height");
+        return leftBlack + (node.getColor() == Color.BLACK ? 1 : 0);
+    }
+
+    /**
+     * Checks that a map holds exactly the entries of the reference, in order.
+     */
+    private static void checkContents(SortedMap<Integer, Integer> map, TreeMap<Integer, Integer> reference) {
+        if (map.size() != reference.size()) throw new IllegalStateException("size");
+        Iterator<Map.Entry<Integer, Integer>> it = map.iterator();
+        for (java.util.Map.Entry<Integer, Integer> expected : reference.entrySet()) {
+            if (!it.hasNext()) throw new IllegalStateException("missing entries");
+            Map.Entry<Integer, Integer> entry = it.next();
+            if (!entry.key().equals(expected.getKey()) || !entry.value().equals(expected.getValue()))
+                throw new IllegalStateException("entry " + expected.getKey());
+        }
+        if (it.hasNext()) throw new IllegalStateException("extra entries");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T roundTrip(T object) throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (T) in.readObject();
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package dataStructures;
+
+import dataStructures.exceptions.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Striped Hash Table
+ * Thread-safe map split into independent segments, each an open addressing hash
+ * table guarded by its own lock (the segment itself), so threads working on keys
+ * of different segments never wait for each other. The segment of a key is chosen
+ * from its mixed hash code.
+ * Iterators are weakly consistent: each segment is copied under its lock when the
+ * iteration reaches it, so they never fail because of concurrent updates, but may
+ * or may not see updates made after they were created.
+ * The table must not be serialized while other threads update it.
+ *
+ * @param <K> Generic Key
+ * @param <V> Generic Value
+ */
+public class StripedHashTable<K,V> implements InstrumentedMap<K,V> {
+
+    private static final long serialVersionUID = 0L;
+
+    /** Default number of segments */
+    static final int DEFAULT_STRIPES = 16;
+
+    /** Segments; the length is a power of two */
+    private final OpenAddressingHashTable<K,V>[] segments;
+
+    /** Number of entries in all segments */
+    private final AtomicInteger count;
+
+    /**
+     * Default constructor
+     * Time complexity: O(n)
+     */
+    public StripedHashTable() {
+        this(HashTable.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor with capacity
+     *
+     * @param capacity initial capacity
+     * Time complexity: O(n)
+     */
+    public StripedHashTable(int capacity) {
+        this(capacity, DEFAULT_STRIPES);
+    }
+
+    /**
+     * Constructor with capacity and number of segments
+     *
+     * @param capacity initial capacity
+     * @param stripes minimum number of segments (rounded up to a power of two)
+     * Time complexity: O(n)
+     */
+    @SuppressWarnings("unchecked")
+    public StripedHashTable(int capacity, int stripes) {
+        int length = 1;
+        while (length < stripes && length < (1 << 16)) length <<= 1;
+        segments = (OpenAddressingHashTable<K,V>[]) new OpenAddressingHashTable[length];
+        int segmentCapacity = Math.max(1, capacity / length);
+        for (int i = 0; i < length; i++)
+            segments[i] = new OpenAddressingHashTable<>(segmentCapacity);
+        count = new AtomicInteger();
+    }
+
+    /**
+     * Returns the segment of a key.
+     *
+     * @param key key to locate
+     * @return segment holding the key if present
+     * Time complexity: O(1)
+     */
+    private OpenAddressingHashTable<K,V> segmentFor(K key) {
+        return segments[PowerOfTwoHashTable.spread(key.hashCode()) & (segments.length - 1)];
+    }
+
+    /**
+     * Returns true iff the table contains no entries.
+     *
+     * Time complexity: O(1)
+     * @return true if the table is empty
+     */
+    public boolean isEmpty() {
+        return count.get() == 0;
+    }
+
+    /**
+     * Returns the number of entries in the table.
+     *
+     * Time complexity: O(1)
+     * @return number of entries
+     */
+    public int size() {
+        return count.get();
+    }
+
+    /**
+     * Returns the value associated with a key, or null if not found
+     *
+     * @param key key to search
+     * @return value associated with key or null
+     * Time complexity: O(1) expected
+     */
+    public V get(K key) {
+        OpenAddressingHashTable<K,V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.get(key);
+        }
+    }
+
+    /**
+     * Inserts or updates a key-value pair
+     *
+     * @param key key to insert/update
+     * @param value value to associate
+     * @return old value if replaced, or null
+     * Time complexity: O(1) expected, O(n / stripes) when the segment grows
+     */
+    public V put(K key, V value) {
+        OpenAddressingHashTable<K,V> segment = segmentFor(key);
+        V old;
+        synchronized (segment) {
+            old = segment.put(key, value);
+        }
+        if (old == null) count.incrementAndGet();
+        return old;
+    }
+
+    /**
+     * Removes the entry with the specified key
+     *
+     * @param key key to remove
+     * @return old value associated with key, or null
+     * Time complexity: O(1) expected
+     */
+    public V remove(K key) {
+        OpenAddressingHashTable<K,V> segment = segmentFor(key);
+        V old;
+        synchronized (segment) {
+            old = segment.remove(key);
+        }
+        if (old != null) count.decrementAndGet();
+        return old;
+    }
+
+    /**
+     * Returns a weakly consistent iterator over the entries
+     *
+     * @return iterator of entries
+     * Time complexity: O(1)
+     */
+    public Iterator<Entry<K,V>> iterator() {
+        return new StripedIterator();
+    }
+
+    /**
+     * Returns a weakly consistent iterator over the values
+     *
+     * Time complexity: O(1)
+     * @return iterator of values
+     */
+    @SuppressWarnings({"unchecked","rawtypes"})
+    public Iterator<V> values() {
+        return new ValuesIterator(iterator());
+    }
+
+    /**
+     * Returns a weakly consistent iterator over the keys
+     *
+     * Time complexity: O(1)
+     * @return iterator of keys
+     */
+    @SuppressWarnings({"unchecked","rawtypes"})
+    public Iterator<K> keys() {
+        return new KeysIterator(iterator());
+    }
+
+    /**
+     * Enables or disables the statistics of every segment.
+     *
+     * Time complexity: O(stripes)
+     * @param enabled true to gather statistics
+     */
+    public void setStatisticsEnabled(boolean enabled) {
+        for (OpenAddressingHashTable<K,V> segment : segments) {
+            synchronized (segment) {
+                segment.setStatisticsEnabled(enabled);
+            }
+        }
+    }
+
+    /**
+     * Returns the statistics of all segments added together, or null if they are disabled.
+     *
+     * Time complexity: O(1)
+     * @return statistics or null
+     */
+    public HashTableStatistics getStatistics() {
+        if (segments[0].getStatistics() == null) return null;
+        return new StripedStatistics();
+    }
+
+    /**
+     * Statistics of all segments, each read under its lock when asked for.
+     */
+    private class StripedStatistics implements HashTableStatistics {
+
+        public int size() {
+            return count.get();
+        }
+
+        public int capacity() {
+            int capacity = 0;
+            for (OpenAddressingHashTable<K,V> segment : segments) {
+                synchronized (segment) {
+                    capacity += segment.slotCount();
+                }
+            }
+            return capacity;
+        }
+
+        public float loadFactor() {
+            return (float) size() / capacity();
+        }
+
+        public int rehashes() {
+            int rehashes = 0;
+            for (OpenAddressingHashTable<K,V> segment : segments) {
+                synchronized (segment) {
+                    HashTableStatistics statistics = segment.getStatistics();
+                    if (statistics != null) rehashes += statistics.rehashes();
+                }
+            }
+            return rehashes;
+        }
+
+        public long rehashNanos() {
+            long nanos = 0;
+            for (OpenAddressingHashTable<K,V> segment : segments) {
+                synchronized (segment) {
+                    HashTableStatistics statistics = segment.getStatistics();
+                    if (statistics != null) nanos += statistics.rehashNanos();
+                }
+            }
+            return nanos;
+        }
+
+        public int removedCells() {
+            return 0;
+        }
+
+        public int[] lengthHistogram() {
+            int[] histogram = new int[HISTOGRAM_LENGTH];
+            for (OpenAddressingHashTable<K,V> segment : segments) {
+                synchronized (segment) {
+                    segment.fillLengthHistogram(histogram);
+                }
+            }
+            return histogram;
+        }
+    }
+
+    /**
+     * Weakly consistent iterator for StripedHashTable
+     */
+    private class StripedIterator implements Iterator<Entry<K,V>> {
+
+        /** Copy of the entries of the current segment */
+        private Entry<K,V>[] snapshot;
+
+        /** Index of the next entry in snapshot */
+        private int index;
+
+        /** Index of the next segment to copy */
+        private int nextSegment;
+
+        /**
+         * Constructor: rewinds to the first entry
+         * Time complexity: O(n / stripes) expected
+         */
+        public StripedIterator() {
+            rewind();
+        }
+
+        /**
+         * Copies the next non-empty segment, if any, under its lock.
+         * Time complexity: O(n / stripes) expected per segment
+         */
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            while (index == snapshot.length && nextSegment < segments.length) {
+                OpenAddressingHashTable<K,V> segment = segments[nextSegment++];
+                synchronized (segment) {
+                    snapshot = (Entry<K,V>[]) new Entry[segment.size()];
+                    Iterator<Entry<K,V>> it = segment.iterator();
+                    for (int i = 0; i < snapshot.length; i++) snapshot[i] = it.next();
+                }
+                index = 0;
+            }
+        }
+
+        /**
+         * Returns true if there is a next entry
+         *
+         * @return true if more elements exist
+         * Time complexity: O(1)
+         */
+        public boolean hasNext() {
+            return index < snapshot.length;
+        }
+
+        /**
+         * Returns the next entry
+         *
+         * @return next entry
+         * @throws NoSuchElementException if none available
+         * Time complexity: O(1) amortized
+         */
+        public Entry<K,V> next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            Entry<K,V> entry = snapshot[index++];
+            advance();
+            return entry;
+        }
+
+        /**
+         * Rewinds the iterator to the first entry
+         * Time complexity: O(n / stripes) expected
+         */
+        @SuppressWarnings("unchecked")
+        public void rewind() {
+            snapshot = (Entry<K,V>[]) new Entry[0];
+            index = 0;
+            nextSegment = 0;
+            advance();
+        }
+    }
+}
@@ -4,6 +4,7 @@
  */
 package system;
 import dataStructures.Iterator;
+import dataStructures.HashTableStatistics;
 
 /**
  * Public interface describing the operations supported by the Area.
@@ -50,6 +51,38 @@ public interface Area {
      */
     Iterator<ServiceClass> findServicesByRating(String type, int stars, String s);
 
+    /**
+     * Find the k services of a given textual type, rated at least minStars,
+     * that are closest to the given student, by increasing distance.
+     *
+     * @param studentName student name
+     * @param type textual type (eating|lodging|leisure)
+     * @param k maximum number of services to return (k >= 1)
+     * @param minStars minimum evaluation average (1..5)
+     * @return iterator of at most k services by increasing distance
+     */
+    Iterator<ServiceClass> findKNearest(String studentName, String type, int k, int minStars);
+
+    /**
+     * Find the cheapest lodging that still has free rooms (earliest registered on ties).
+     *
+     * @return cheapest lodging with free rooms
+     */
+    LodgingServiceClass findCheapestFreeLodging();
+
+    /**
+     * List the services located inside a rectangle (bounds inclusive),
+     * optionally restricted to one service type.
+     *
+     * @param top top latitude
+     * @param left left longitude
+     * @param bottom bottom latitude
+     * @param right right longitude
+     * @param type textual type (eating|lodging|leisure) or null for every type
+     * @return iterator over the services inside the rectangle
+     */
+    Iterator<ServiceClass> listServicesInRectangle(long top, long left, long bottom, long right, String type);
+
     /**
      * Find the most relevant service (depending on student's type and service type).
      *
@@ -85,6 +118,16 @@ public interface Area {
      */
     Iterator<StudentClass> listAllStudentsAlphabetically();
 
+    /**
+     * List a page of the registered students alphabetically.
+     *
+     * @pre offset >= 0 && limit >= 0
+     * @param offset number of students to skip
+     * @param limit maximum number of students to list
+     * @return iterator of at most limit students ordered alphabetically, from the offset-th one on
+     */
+    Iterator<StudentClass> listAllStudentsAlphabetically(int offset, int limit);
+
     /**
      * Make a student go to a service (eating or leisure).
      *
@@ -149,6 +192,37 @@ public interface Area {
 
     String getStudentName(StudentClass s);
 
+    /**
+     * Fraction of lookups of absent student names that were not answered by
+     * the Bloom filter in front of the student name index.
+     *
+     * @return false positive rate, 0 if no absent student was looked up
+     */
+    double getStudentNameFalsePositiveRate();
+
+    /**
+     * Fraction of lookups of absent service names that were not answered by
+     * the Bloom filter in front of the service name index.
+     *
+     * @return false positive rate, 0 if no absent service was looked up
+     */
+    double getServiceNameFalsePositiveRate();
+
+    /**
+     * Enable or disable the statistics of the hash indexes (disabled by default).
+     *
+     * @param enabled true to gather statistics
+     */
+    void setIndexStatisticsEnabled(boolean enabled);
+
+    /**
+     * Return the statistics of a hash index.
+     *
+     * @param index index to inspect
+     * @return statistics, or null if they are disabled or the index has none
+     */
+    HashTableStatistics getIndexStatistics(AreaIndex index);
+
     /**
      * Return the canonical (cased) service name if it exists, otherwise null.
      *
@@ -188,9 +262,11 @@ public interface Area {
 
     /**
      * Return an iterator of services that contain the given tag in their evaluations.
+     * The tag may combine tags with the upper-case operators AND, OR and NOT,
+     * applied from left to right (e.g. "good AND cheap NOT noisy").
      *
      * @pre tag != null
-     * @param tag tag to search for
+     * @param tag tag (or tag query) to search for
      * @return iterator of services with the tag
      */
     Iterator<ServiceClass> getServicesWithTag(String tag);
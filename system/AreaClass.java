@@ -7,6 +7,9 @@ import dataStructures.*;
 import dataStructures.exceptions.NoSuchElementException;
 import system.exceptions.*;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serial;
 import java.io.Serializable;
 
 /**
@@ -22,54 +25,104 @@ public class AreaClass implements Area, Serializable {
     private final String name;
 
     // Students
-    private SortedMap<String,StudentClass> alphOrderStudents;
+    private IndexedSortedMap<CaseInsensitiveString,StudentClass> alphOrderStudents;
     private List<StudentClass> students;
-    private Map<String,StudentClass> studentsByName;
-    private Map<String,SinglyLinkedList<StudentClass>> studentsByCountry;
+    private BloomFilteredMap<CaseInsensitiveString,StudentClass> studentsByName;
+    private Map<CaseInsensitiveString,SinglyLinkedList<StudentClass>> studentsByCountry;
     // Services
     private SortedList<ServiceClass>[] servicesByPrice;
     private List<ServiceClass> servicesByInsertion;
-    private List<ServiceClass>[][] servicesByRating;
-    private List<ServiceClass>[] servicesByEvaluation;
-    private Map<String,ServiceClass> servicesByName;
+    // id of the next service: only ever incremented, so ids are never reused
+    private int nextServiceId;
+    private PositionalList<ServiceClass>[][] servicesByRating;
+    private KDTree<ServiceClass>[][] servicesByRatingLocation;
+    private PositionalList<ServiceClass>[] servicesByEvaluation;
+    private BloomFilteredMap<CaseInsensitiveString,ServiceClass> servicesByName;
+    private KDTree<ServiceClass> servicesByLocation;
+    private KDTree<ServiceClass>[] servicesByTypeLocation;
+    private TagIndex servicesByTag;
+    private LodgingRegistry lodgings;
 
     // Location
     private final PlaneOfLocation locationOfArea;
 
     /**
-     * Create a new AreaClass with the given name and plane.
+     * Create a new AreaClass with the given name and plane, indexing students
+     * and countries with separate chaining and services with closed hashing.
      *
      * @param name area name
      * @param locationOfArea bounding box (plane)
      */
     public AreaClass(String name, PlaneOfLocation locationOfArea) {
+        this(name, locationOfArea, IndexType.separateChaining, IndexType.closed);
+    }
+
+    /**
+     * Create a new AreaClass with the given name and plane, using the same
+     * hash table for every name and country index.
+     *
+     * @param name area name
+     * @param locationOfArea bounding box (plane)
+     * @param indexType hash table used for the student and service name indexes
+     */
+    public AreaClass(String name, PlaneOfLocation locationOfArea, IndexType indexType) {
+        this(name, locationOfArea, indexType, indexType);
+    }
+
+    /**
+     * Create a new AreaClass with the given name and plane.
+     *
+     * @param name area name
+     * @param locationOfArea bounding box (plane)
+     * @param studentIndexType hash table used for the student name and country indexes
+     * @param serviceIndexType hash table used for the service name index
+     */
+    public AreaClass(String name, PlaneOfLocation locationOfArea, IndexType studentIndexType, IndexType serviceIndexType) {
         this.name = name;
 
         // Initialize student structures
-        alphOrderStudents = new AVLSortedMap<>();
+        alphOrderStudents = new ArrayAVLSortedMap<>();
         students = new SinglyLinkedList<>();
-        studentsByName = new SepChainHashTable<>(50);
-        studentsByCountry = new SepChainHashTable<>(50);
+        // name lookups of absent students and services are mostly stopped by a Bloom filter
+        studentsByName = new BloomFilteredMap<>(studentIndexType.newMap(50), 50);
+        studentsByCountry = studentIndexType.newMap(50);
         // Initialize service lists
-        servicesByPrice = new SortedDoublyLinkedList[3];
+        servicesByPrice = new SkipListSortedList[3];
         for(int i = 0; i < 3; i++){
-            servicesByPrice[i]=new SortedDoublyLinkedList<>(new PriceComparator());
+            servicesByPrice[i]=new SkipListSortedList<>(new PriceComparator());
         }
 
         servicesByInsertion = new SinglyLinkedList<>();
-        servicesByName = new ClosedHashTable<>(100);
+        servicesByName = new BloomFilteredMap<>(serviceIndexType.newMap(100), 100);
         // rating buckets: 5 possible averages (1..5) and 3 service types
-        servicesByRating = new SinglyLinkedList[5][3];
+        servicesByRating = new PositionalDoublyLinkedList[5][3];
         for (int i = 0; i < 5; i++) {
             for (int j = 0; j < 3; j++) {
-                servicesByRating[i][j] = new SinglyLinkedList<>();
+                servicesByRating[i][j] = new PositionalDoublyLinkedList<>();
             }
         }
+        // same buckets indexed by location, for nearest service queries
+        servicesByRatingLocation = new KDTree[5][3];
+        for (int i = 0; i < 5; i++) {
+            for (int j = 0; j < 3; j++) {
+                servicesByRatingLocation[i][j] = new KDTree<>();
+            }
+        }
+
+        // every service and services of each type indexed by location, for rectangle queries
+        servicesByLocation = new KDTree<>();
+        servicesByTypeLocation = new KDTree[3];
+        for (int i = 0; i < 3; i++) {
+            servicesByTypeLocation[i] = new KDTree<>();
+        }
+
+        servicesByTag = new TagIndexClass();
+        lodgings = new LodgingRegistryClass();
 
         // services grouped only by evaluation (to list by evaluation)
-        servicesByEvaluation = new SinglyLinkedList[5];
+        servicesByEvaluation = new PositionalDoublyLinkedList[5];
         for (int i = 0; i < 5; i++) {
-            servicesByEvaluation[i] = new SinglyLinkedList<>();
+            servicesByEvaluation[i] = new PositionalDoublyLinkedList<>();
         }
 
         this.locationOfArea = locationOfArea;
@@ -110,11 +163,11 @@ public class AreaClass implements Area, Serializable {
     /*
      * Creational helpers
      */
-    private ServiceClass createService(ServiceType type, LocationClass loc, float price, float value, String name) {
+    private ServiceClass createService(ServiceType type, LocationClass loc, float price, float value, String name, int id) {
         return switch (type) {
-            case eating -> new EatingServiceClass(loc, price, (int) value, type, name);
-            case lodging -> new LodgingServiceClass(loc, price, (int) value, type, name);
-            case leisure -> new LeisureServiceClass(loc, price, value, type, name);
+            case eating -> new EatingServiceClass(loc, price, (int) value, type, name, id);
+            case lodging -> new LodgingServiceClass(loc, price, (int) value, type, name, id);
+            case leisure -> new LeisureServiceClass(loc, price, value, type, name, id);
         };
     }
 
@@ -127,45 +180,87 @@ public class AreaClass implements Area, Serializable {
     }
 
     /**
-     * Given a list of services and a reference location, returns a list
-     * containing the service(s) with the minimum distance to the location.
+     * Index a service by location in the given rating bucket.
      *
-     * @param list services to search
-     * @param loc reference location
-     * @return list of closest services (could be multiple if tied regarding distance)
+     * @param ratingIndex rating bucket (average - 1)
+     * @param service service to index
      */
-    private List<ServiceClass> findClosestServices(List<ServiceClass> list, LocationClass loc) {
-        double minDistance = Double.MAX_VALUE;
-        List<ServiceClass> closest = new ListInArray<>(50);
-
-        Iterator<ServiceClass> it = list.iterator();
-
-        while (it.hasNext()) {
-            ServiceClass service = it.next();
-            double dist = loc.distanceTo(service.getLocation());
+    private void indexByLocation(int ratingIndex, ServiceClass service) {
+        long[] coords = service.getLocation().getLocation();
+        servicesByRatingLocation[ratingIndex][service.getType().getIndex()].insert(coords[0], coords[1], service);
+    }
 
-            if (dist < minDistance) {
-                // found strictly closer service -> reset result list
-                minDistance = dist;
-                closest = new ListInArray<>(50);
-                closest.addLast(service);
-            } else if (dist == minDistance) {
-                // same distance -> tie, add to results
-                closest.addLast(service);
-            }
-        }
-        return closest;
+    /**
+     * Remove a service from the location index of the given rating bucket.
+     *
+     * @param ratingIndex rating bucket (average - 1)
+     * @param service service to remove
+     */
+    private void unindexByLocation(int ratingIndex, ServiceClass service) {
+        long[] coords = service.getLocation().getLocation();
+        servicesByRatingLocation[ratingIndex][service.getType().getIndex()].remove(coords[0], coords[1], service);
     }
 
     /*
      * Name lookups
      */
     private ServiceClass getServiceByName(String name) {
-        return servicesByName.get(name);
+        return servicesByName.get(new CaseInsensitiveString(name));
     }
 
     private StudentClass getStudentByName(String name) {
-        return studentsByName.get(name);
+        return studentsByName.get(new CaseInsensitiveString(name));
+    }
+
+    /**
+     * Enable or disable the statistics of the name and country indexes.
+     *
+     * @param enabled true to gather statistics
+     */
+    @Override
+    public void setIndexStatisticsEnabled(boolean enabled) {
+        for (AreaIndex index : AreaIndex.values()) {
+            if (indexMap(index) instanceof InstrumentedMap<?, ?> map) map.setStatisticsEnabled(enabled);
+        }
+    }
+
+    /**
+     * Return the statistics of one of the name and country indexes.
+     *
+     * @param index index to inspect
+     * @return statistics, or null if they are disabled or the index has none
+     */
+    @Override
+    public HashTableStatistics getIndexStatistics(AreaIndex index) {
+        return indexMap(index) instanceof InstrumentedMap<?, ?> map ? map.getStatistics() : null;
+    }
+
+    private Map<?, ?> indexMap(AreaIndex index) {
+        return switch (index) {
+            case studentsByName -> studentsByName;
+            case studentsByCountry -> studentsByCountry;
+            case servicesByName -> servicesByName;
+        };
+    }
+
+    /**
+     * Fraction of lookups of absent student names that the Bloom filter let through.
+     *
+     * @return false positive rate of the student name filter
+     */
+    @Override
+    public double getStudentNameFalsePositiveRate() {
+        return studentsByName.falsePositiveRate();
+    }
+
+    /**
+     * Fraction of lookups of absent service names that the Bloom filter let through.
+     *
+     * @return false positive rate of the service name filter
+     */
+    @Override
+    public double getServiceNameFalsePositiveRate() {
+        return servicesByName.falsePositiveRate();
     }
 
     /**
@@ -214,7 +309,7 @@ public class AreaClass implements Area, Serializable {
         LocationClass serviceLocation = new LocationClass(latitude, longitude);
         if (!locationOfArea.contains(serviceLocation)) throw new LocationOutOfBoundsException();
 
-        if (serviceExists(name.toLowerCase())) throw new ExistingServiceException();
+        if (serviceExists(name)) throw new ExistingServiceException();
 
         // validate range/semantics for each service type
         switch (type) {
@@ -232,13 +327,17 @@ public class AreaClass implements Area, Serializable {
             }
         }
 
-        ServiceClass s = createService(type, serviceLocation, price, value, name);
+        ServiceClass s = createService(type, serviceLocation, price, value, name, nextServiceId++);
 
         servicesByInsertion.addLast(s);
-        servicesByRating[s.getEvaluationAverage() - 1][type.getIndex()].addLast(s);
-        servicesByEvaluation[s.getEvaluationAverage() - 1].addLast(s);
-        servicesByName.put(name.toLowerCase(), s);
+        s.setRatingPosition(servicesByRating[s.getEvaluationAverage() - 1][type.getIndex()].addLastNode(s));
+        indexByLocation(s.getEvaluationAverage() - 1, s);
+        s.setEvaluationPosition(servicesByEvaluation[s.getEvaluationAverage() - 1].addLastNode(s));
+        servicesByName.put(new CaseInsensitiveString(name), s);
         servicesByPrice[type.getIndex()].add(s);
+        servicesByLocation.insert(latitude, longitude, s);
+        servicesByTypeLocation[type.getIndex()].insert(latitude, longitude, s);
+        if (s instanceof LodgingServiceClass lodging) lodgings.addLodging(lodging);
     }
 
     /* --- Simple getters that delegate to Service/Student instances --- */
@@ -396,7 +495,7 @@ public class AreaClass implements Area, Serializable {
             NoServicesOfTheTypeException, NoServicesWithAverageException {
 
         StudentClass s = getStudentByName(studentName);
-        if (students.indexOf(s) == -1) throw new NonExistingStudentException();
+        if (s == null) throw new NonExistingStudentException();
         ServiceType type;
         try {
             type = ServiceType.valueOf(serviceType);
@@ -412,10 +511,128 @@ public class AreaClass implements Area, Serializable {
         if (servicesByRating[stars - 1][type.getIndex()].isEmpty())
             throw new NoServicesWithAverageException();
 
-        List<ServiceClass> list = servicesByRating[stars - 1][type.getIndex()];
+        // return services closest to the student's current location (ties in bucket order)
+        long[] coords = s.getCurrentCoordinatesLocation().getLocation();
+        return servicesByRatingLocation[stars - 1][type.getIndex()].nearest(coords[0], coords[1]);
+    }
 
-        // return services closest to the student's current location
-        return findClosestServices(list, s.getCurrentCoordinatesLocation()).iterator();
+    /**
+     * Find the k services of a given textual type, rated at least minStars,
+     * that are closest to the given student, by increasing distance.
+     * The rating buckets are merged with a heap holding the next closest service of
+     * each bucket, and each bucket is read lazily from its location index, so only
+     * about k services are ever visited. Ties are broken by higher rating, then by
+     * order of entry in the bucket.
+     *
+     * @param studentName student name
+     * @param serviceType textual type (eating|lodging|leisure)
+     * @param k maximum number of services to return (k >= 1)
+     * @param minStars minimum evaluation average (1..5)
+     * @return iterator of at most k services by increasing distance
+     */
+    @Override
+    public Iterator<ServiceClass> findKNearest(String studentName, String serviceType, int k, int minStars)
+            throws NonExistingStudentException, InvalidServiceException, InvalidEvaluationException,
+            InvalidServiceCountException, NoServicesOfTheTypeException, NoServicesWithAverageException {
+
+        StudentClass s = getStudentByName(studentName);
+        if (s == null) throw new NonExistingStudentException();
+        ServiceType type;
+        try {
+            type = ServiceType.valueOf(serviceType);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidServiceException();
+        }
+
+        if (minStars < 1 || minStars > 5) throw new InvalidEvaluationException();
+        if (k < 1) throw new InvalidServiceCountException();
+
+        int typeIndex = type.getIndex();
+        if (servicesByTypeLocation[typeIndex].isEmpty()) throw new NoServicesOfTheTypeException();
+
+        LocationClass from = s.getCurrentCoordinatesLocation();
+        long[] coords = from.getLocation();
+
+        // heap with the next closest service of each rating bucket
+        PriorityQueue<NearestHead> heads = new BinaryHeap<>((a, b) -> {
+            int cmp = Double.compare(a.distance, b.distance);
+            return cmp != 0 ? cmp : b.ratingIndex - a.ratingIndex;
+        }, 5);
+        for (int ratingIndex = 4; ratingIndex >= minStars - 1; ratingIndex--) {
+            Iterator<ServiceClass> it = servicesByRatingLocation[ratingIndex][typeIndex].nearestFirst(coords[0], coords[1]);
+            if (it.hasNext()) heads.insert(new NearestHead(it.next(), from, ratingIndex, it));
+        }
+        if (heads.isEmpty()) throw new NoServicesWithAverageException();
+
+        List<ServiceClass> result = new ListInArray<>(Math.min(k, servicesByTypeLocation[typeIndex].size()));
+        while (result.size() < k && !heads.isEmpty()) {
+            NearestHead head = heads.removeMin();
+            result.addLast(head.service);
+            if (head.rest.hasNext()) heads.insert(new NearestHead(head.rest.next(), from, head.ratingIndex, head.rest));
+        }
+        return result.iterator();
+    }
+
+    /**
+     * Closest unread service of one rating bucket, used by findKNearest.
+     */
+    private static class NearestHead {
+        private final ServiceClass service;
+        private final double distance;
+        private final int ratingIndex;
+        private final Iterator<ServiceClass> rest;
+
+        NearestHead(ServiceClass service, LocationClass from, int ratingIndex, Iterator<ServiceClass> rest) {
+            this.service = service;
+            this.distance = from.distanceTo(service.getLocation());
+            this.ratingIndex = ratingIndex;
+            this.rest = rest;
+        }
+    }
+
+    /**
+     * List the services located inside a rectangle (bounds inclusive, as in
+     * PlaneOfLocation.contains), optionally restricted to one service type.
+     * Services are streamed from the location index, so only the part of the
+     * index that overlaps the rectangle is visited.
+     *
+     * @param top top latitude
+     * @param left left longitude
+     * @param bottom bottom latitude
+     * @param right right longitude
+     * @param type textual type (eating|lodging|leisure) or null for every type
+     * @return iterator over the services inside the rectangle
+     */
+    @Override
+    public Iterator<ServiceClass> listServicesInRectangle(long top, long left, long bottom, long right, String type)
+            throws InvalidServiceException, NoServicesInRectangleException {
+        KDTree<ServiceClass> index = servicesByLocation;
+        if (type != null) {
+            try {
+                index = servicesByTypeLocation[ServiceType.valueOf(type).getIndex()];
+            } catch (IllegalArgumentException e) {
+                throw new InvalidServiceException();
+            }
+        }
+
+        PlaneOfLocation rectangle = new PlaneOfLocationClass(new LocationClass(top, left), new LocationClass(bottom, right));
+        Iterator<ServiceClass> it = index.range(rectangle.getMinLatitude(), rectangle.getMinLongitude(),
+                rectangle.getMaxLatitude(), rectangle.getMaxLongitude());
+
+        if (!it.hasNext()) throw new NoServicesInRectangleException();
+        return it;
+    }
+
+    /**
+     * Find the cheapest lodging that still has free rooms (earliest registered on ties).
+     *
+     * @return cheapest lodging with free rooms
+     */
+    @Override
+    public LodgingServiceClass findCheapestFreeLodging() throws NoFreeLodgingServiceException {
+        LodgingServiceClass lodging = lodgings.getCheapestWithFreeRooms();
+        if (lodging == null) throw new NoFreeLodgingServiceException();
+        return lodging;
     }
 
     /**
@@ -511,16 +728,19 @@ public class AreaClass implements Area, Serializable {
         int oldRatingIndex = service.getEvaluationAverage() - 1;
         EvaluationEntry eval = new EvaluationEntryClass(stars, description);
         service.addEvaluation(eval);
+        servicesByTag.addDescription(service, description);
 
         int typeIndex = service.getType().getIndex();
         int newRatingIndex = service.getEvaluationAverage() - 1;
 
         // If average changed then update the buckets
         if (oldRatingIndex != newRatingIndex) {
-            servicesByRating[oldRatingIndex][typeIndex].remove(servicesByRating[oldRatingIndex][typeIndex].indexOf(service));
-            servicesByRating[newRatingIndex][typeIndex].addLast(service);
-            servicesByEvaluation[oldRatingIndex].remove(servicesByEvaluation[oldRatingIndex].indexOf(service));
-            servicesByEvaluation[newRatingIndex].addLast(service);
+            servicesByRating[oldRatingIndex][typeIndex].removeNode(service.getRatingPosition());
+            service.setRatingPosition(servicesByRating[newRatingIndex][typeIndex].addLastNode(service));
+            unindexByLocation(oldRatingIndex, service);
+            indexByLocation(newRatingIndex, service);
+            servicesByEvaluation[oldRatingIndex].removeNode(service.getEvaluationPosition());
+            service.setEvaluationPosition(servicesByEvaluation[newRatingIndex].addLastNode(service));
         }
     }
 
@@ -538,31 +758,26 @@ public class AreaClass implements Area, Serializable {
         if (studentIsOfInvalidType(type)) throw new InvalidStudentTypeException();
 
         // find lodging by name
-        LodgingServiceClass home = null;
-
-        for (int i = 0; i < servicesByInsertion.size(); i++) {
-            ServiceClass s = servicesByInsertion.get(i);
-            if (s instanceof LodgingServiceClass lodging && lodging.getName().equalsIgnoreCase(lodgingName)) {
-                home = lodging;
-                break;
-            }
-        }
+        LodgingServiceClass home = lodgings.getLodging(lodgingName);
 
         if (home == null) throw new NonExistingLodgingServiceException();
-        if (studentExists(name.toLowerCase())) throw new ExistingStudentException();
+        if (studentExists(name)) throw new ExistingStudentException();
         if (!home.hasFreeRooms()) throw new FullLodgingServiceException();
 
         // create student and register them
         StudentClass s = createStudent(type, name, country, home);
         home.addStudent(s);
+        lodgings.updateVacancy(home);
 
         students.addLast(s);
-        alphOrderStudents.put(name.toLowerCase(),s);
-        studentsByName.put(name.toLowerCase(),s);
-        SinglyLinkedList<StudentClass> list = studentsByCountry.get(country);
+        CaseInsensitiveString key = new CaseInsensitiveString(name);
+        alphOrderStudents.put(key,s);
+        studentsByName.put(key,s);
+        CaseInsensitiveString countryKey = new CaseInsensitiveString(country);
+        SinglyLinkedList<StudentClass> list = studentsByCountry.get(countryKey);
         if (list == null) {
             list = new SinglyLinkedList<>();
-            studentsByCountry.put(country, list);
+            studentsByCountry.put(countryKey, list);
         }
         list.addLast(s);
     }
@@ -574,18 +789,21 @@ public class AreaClass implements Area, Serializable {
      */
     @Override
     public void removeStudent(String name) throws NonExistingStudentException {
-        if(alphOrderStudents.get(name) == null) throw new NonExistingStudentException();
-        StudentClass s = alphOrderStudents.remove(name);
-        studentsByName.remove(name);
+        CaseInsensitiveString key = new CaseInsensitiveString(name);
+        if(studentsByName.get(key) == null) throw new NonExistingStudentException();
+        StudentClass s = alphOrderStudents.remove(key);
+        studentsByName.remove(key);
         students.remove(students.indexOf(s));
-        SinglyLinkedList<StudentClass> list = studentsByCountry.get(s.getCountry());
+        CaseInsensitiveString countryKey = new CaseInsensitiveString(s.getCountry());
+        SinglyLinkedList<StudentClass> list = studentsByCountry.get(countryKey);
         list.remove(list.indexOf(s));
-        if(list.isEmpty()) studentsByCountry.remove(s.getCountry());
+        if(list.isEmpty()) studentsByCountry.remove(countryKey);
         // remove from services they are present in
         LodgingServiceClass home = s.getHome();
         ServiceClass currentLocation = s.getCurrentLocation();
         if (currentLocation instanceof EatingServiceClass e) e.removeStudent(s);
         home.removeStudent(s);
+        lodgings.updateVacancy(home);
     }
 
     /**
@@ -661,6 +879,8 @@ public class AreaClass implements Area, Serializable {
         studentHome.removeStudent(student);
         student.changeHome(home);
         home.addStudent(student);
+        lodgings.updateVacancy(studentHome);
+        lodgings.updateVacancy(home);
     }
 
     /**
@@ -700,7 +920,7 @@ public class AreaClass implements Area, Serializable {
      */
     @Override
     public Iterator<StudentClass> listStudentsByCountry(String country) throws NonExistingStudentFromCountryException {
-        SinglyLinkedList<StudentClass> list = studentsByCountry.get(country);
+        SinglyLinkedList<StudentClass> list = studentsByCountry.get(new CaseInsensitiveString(country));
 
         if (list == null || list.isEmpty()) {
             throw new NonExistingStudentFromCountryException();
@@ -721,6 +941,24 @@ public class AreaClass implements Area, Serializable {
         return alphOrderStudents.values();
     }
 
+    /**
+     * List a page of the registered students alphabetically, starting the
+     * in-order walk at the offset-th student instead of the first one.
+     *
+     * @pre offset >= 0 && limit >= 0
+     * @param offset number of students to skip
+     * @param limit maximum number of students to list
+     * @return iterator of at most limit students ordered alphabetically, from the offset-th one on
+     */
+    @Override
+    public Iterator<StudentClass> listAllStudentsAlphabetically(int offset, int limit) throws NonExistingStudentException {
+        if (alphOrderStudents.isEmpty()) {
+            throw new NonExistingStudentException();
+        }
+        int first = Math.min(offset, alphOrderStudents.size());
+        return new LimitIterator<>(alphOrderStudents.values(first), limit);
+    }
+
     /**
      * List students in a service either forward ('>') or reverse ('<') order.
      *
@@ -766,23 +1004,52 @@ public class AreaClass implements Area, Serializable {
 
     /**
      * Return an iterator of services that contain the given tag in their evaluations.
+     * The tag may combine tags with the upper-case operators AND, OR and NOT,
+     * applied from left to right (e.g. "good AND cheap NOT noisy").
      *
      * @pre tag != null
-     * @param tag tag to search for
+     * @param tag tag (or tag query) to search for
      * @return iterator of services with the tag
      */
     @Override
     public Iterator<ServiceClass> getServicesWithTag(String tag) throws NoServicesWithTagException {
-        Predicate<ServiceClass> pred = s -> {
-            Evaluation eval = s.getEvaluation();
-            return eval.containsTag(tag);
-        };
-
-        FilterIterator<ServiceClass> it = new FilterIterator<>(servicesByInsertion.iterator(), pred);
+        Iterator<ServiceClass> it = servicesByTag.query(tag);
 
         if (!it.hasNext()) {
             throw new NoServicesWithTagException();
         }
         return it;
     }
-}
\ No newline at end of file
+
+    /**
+     * Custom deserialization: the bucket positions kept by the services and the
+     * positions students keep in the services' lists are not serialized, so they
+     * are relinked to the nodes of the loaded lists.
+     *
+     * @param in stream to read from
+     * @throws IOException if IO error occurs
+     * @throws ClassNotFoundException if a class is not found
+     */
+    @Serial
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        for (int i = 0; i < 5; i++) {
+            Iterator<Position<ServiceClass>> it = servicesByEvaluation[i].positions();
+            while (it.hasNext()) {
+                Position<ServiceClass> position = it.next();
+                position.element().setEvaluationPosition(position);
+            }
+            for (int j = 0; j < 3; j++) {
+                it = servicesByRating[i][j].positions();
+                while (it.hasNext()) {
+                    Position<ServiceClass> position = it.next();
+                    position.element().setRatingPosition(position);
+                }
+            }
+        }
+        Iterator<ServiceClass> services = servicesByInsertion.iterator();
+        while (services.hasNext()) {
+            if (services.next() instanceof StudentsStoringServiceClass service) service.relinkStudents();
+        }
+    }
+}
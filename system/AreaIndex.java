@@ -0,0 +1,14 @@
+/**
+ * @author Tomás Silvestre 68594 tm.silvestre@campus.fct.unl.pt
+ * @author Ricardo Laur 68342 r.laur@campus.fct.unl.pt
+ */
+package system;
+
+/**
+ * Hash indexes of an Area whose statistics can be queried.
+ */
+public enum AreaIndex {
+    studentsByName,
+    studentsByCountry,
+    servicesByName
+}
@@ -22,8 +22,11 @@ public enum CommandType {
     CMD_VISITED("VISITED"),
     CMD_RANKING("RANKING"),
     CMD_RANKED("RANKED"),
+    CMD_NEAREST("NEAREST"),
+    CMD_CHEAPEST("CHEAPEST"),
     CMD_TAG("TAG"),
     CMD_FIND("FIND"),
+    CMD_STATS("STATS"),
     CMD_HELP("HELP"),
     CMD_EXIT("EXIT");
 
@@ -86,10 +89,16 @@ public enum CommandType {
                 return CMD_RANKING;
             case "RANKED":
                 return CMD_RANKED;
+            case "NEAREST":
+                return CMD_NEAREST;
+            case "CHEAPEST":
+                return CMD_CHEAPEST;
             case "TAG":
                 return CMD_TAG;
             case "FIND":
                 return CMD_FIND;
+            case "STATS":
+                return CMD_STATS;
             case "HELP":
                 return CMD_HELP;
             case "EXIT":
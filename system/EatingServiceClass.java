@@ -3,6 +3,8 @@
  * @author Ricardo Laur 68342 r.laur@campus.fct.unl.pt
  */
 package system;
+import dataStructures.Position;
+
 import java.io.Serializable;
 
 
@@ -22,9 +24,10 @@ public class EatingServiceClass extends StudentsStoringServiceClass implements E
      * @param numSeats total number of seats
      * @param st service type (ServiceType.eating)
      * @param serviceName canonical service name
+     * @param serviceId insertion number of the service
      */
-    public EatingServiceClass(LocationClass loc, float price, int numSeats, ServiceType st, String serviceName) {
-        super(loc, st, serviceName);
+    public EatingServiceClass(LocationClass loc, float price, int numSeats, ServiceType st, String serviceName, int serviceId) {
+        super(loc, st, serviceName, serviceId);
         this.menuPrice = price;
         this.numSeats = numSeats;
         occupiedSeats = 0;
@@ -73,4 +76,26 @@ public class EatingServiceClass extends StudentsStoringServiceClass implements E
         removeStoredStudent(student);
         occupiedSeats--;
     }
-}
\ No newline at end of file
+
+    /**
+     * Get the position of the student in the students list of the eating service the student is at.
+     *
+     * @param student stored student
+     * @return position of the student
+     */
+    @Override
+    protected Position<StudentClass> getMembership(StudentClass student) {
+        return student.getEatingPosition();
+    }
+
+    /**
+     * Keep the position of the student in the students list of the eating service the student is at.
+     *
+     * @param student stored student
+     * @param position position of the student (null when removed)
+     */
+    @Override
+    protected void setMembership(StudentClass student, Position<StudentClass> position) {
+        student.setEatingPosition(position);
+    }
+}
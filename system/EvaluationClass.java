@@ -60,13 +60,46 @@ public class EvaluationClass implements Evaluation, Serializable {
      */
     @Override
     public boolean containsTag(String tag) {
-        Predicate<EvaluationEntry> pred = e -> {
-            String d = e.getDescription();
-            return d.toLowerCase().matches(".*\\b" + tag.toLowerCase() + "\\b.*");
-        };
+        String lowerTag = tag.toLowerCase();
+        Predicate<EvaluationEntry> pred = e -> containsWord(e.getDescription().toLowerCase(), lowerTag);
         FilterIterator<EvaluationEntry> fit =
                 new FilterIterator<>(evaluations.iterator(), pred);
 
         return fit.hasNext();
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns true if the character can be part of a word (letter, digit or underscore).
+     *
+     * @param c character to test
+     * @return true if c is a word character
+     */
+    static boolean isWordCharacter(char c) {
+        return c == '_' || Character.isLetterOrDigit(c);
+    }
+
+    /**
+     * Returns true if `text` contains `tag` delimited by word boundaries, i.e. the
+     * character before (and after) the occurrence differs from the first (and last)
+     * character of the tag in being a word character. Text boundaries count as non-word.
+     *
+     * @pre text and tag already lower-cased, tag not empty
+     * @param text text to search
+     * @param tag tag to find
+     * @return true if a bounded occurrence exists
+     */
+    private static boolean containsWord(String text, String tag) {
+        if (tag.isEmpty()) return false;
+        boolean firstIsWord = isWordCharacter(tag.charAt(0));
+        boolean lastIsWord = isWordCharacter(tag.charAt(tag.length() - 1));
+        int from = text.indexOf(tag);
+        while (from != -1) {
+            int end = from + tag.length();
+            boolean beforeIsWord = from > 0 && isWordCharacter(text.charAt(from - 1));
+            boolean afterIsWord = end < text.length() && isWordCharacter(text.charAt(end));
+            if (beforeIsWord != firstIsWord && afterIsWord != lastIsWord) return true;
+            from = text.indexOf(tag, from + 1);
+        }
+        return false;
+    }
+}
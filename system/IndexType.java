@@ -0,0 +1,42 @@
+/**
+ * @author Tomás Silvestre 68594 tm.silvestre@campus.fct.unl.pt
+ * @author Ricardo Laur 68342 r.laur@campus.fct.unl.pt
+ */
+package system;
+
+import dataStructures.*;
+
+/**
+ * Hash table implementations that an Area may use for its name and country indexes.
+ */
+public enum IndexType {
+    separateChaining,
+    separateChainingIncremental,
+    closed,
+    closedIncremental,
+    openAddressing,
+    powerOfTwo,
+    striped,
+    cuckoo;
+
+    /**
+     * Create an empty map of this type.
+     *
+     * @param capacity expected number of entries
+     * @param <K> key type
+     * @param <V> value type
+     * @return new empty map
+     */
+    public <K, V> Map<K, V> newMap(int capacity) {
+        return switch (this) {
+            case separateChaining -> new SepChainHashTable<>(capacity);
+            case separateChainingIncremental -> new SepChainHashTable<>(capacity, true);
+            case closed -> new ClosedHashTable<>(capacity);
+            case closedIncremental -> new ClosedHashTable<>(capacity, true);
+            case openAddressing -> new OpenAddressingHashTable<>(capacity);
+            case powerOfTwo -> new PowerOfTwoHashTable<>(capacity);
+            case striped -> new StripedHashTable<>(capacity);
+            case cuckoo -> new CuckooHashTable<>(capacity);
+        };
+    }
+}
@@ -20,9 +20,10 @@ public class LeisureServiceClass extends ServiceClass implements LeisureService,
      * @param discount discount ratio (0.0 - 1.0)
      * @param st service type (should be ServiceType.leisure)
      * @param serviceName canonical service name
+     * @param serviceId insertion number of the service
      */
-    public LeisureServiceClass(LocationClass loc, float ticketPrice, float discount, ServiceType st, String serviceName) {
-        super(loc,st,serviceName);
+    public LeisureServiceClass(LocationClass loc, float ticketPrice, float discount, ServiceType st, String serviceName, int serviceId) {
+        super(loc,st,serviceName,serviceId);
         this.ticketPrice = ticketPrice;
         this.discount = discount;
     }
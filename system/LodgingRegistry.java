@@ -0,0 +1,44 @@
+/**
+ * @author Tomás Silvestre 68594 tm.silvestre@campus.fct.unl.pt
+ * @author Ricardo Laur 68342 r.laur@campus.fct.unl.pt
+ */
+package system;
+
+/**
+ * Registry of the lodging services of an area: lookup by name and
+ * lodgings with free rooms ordered by price.
+ */
+public interface LodgingRegistry {
+
+    /**
+     * Register a new lodging.
+     *
+     * @pre lodging != null
+     * @param lodging lodging to register
+     */
+    void addLodging(LodgingServiceClass lodging);
+
+    /**
+     * Get a lodging by name.
+     *
+     * @pre name != null
+     * @param name lodging name (case-insensitive)
+     * @return the lodging, or null if there is no lodging with that name
+     */
+    LodgingServiceClass getLodging(String name);
+
+    /**
+     * Update the free rooms index after the occupancy of a lodging changed.
+     *
+     * @pre lodging was registered
+     * @param lodging lodging whose occupancy changed
+     */
+    void updateVacancy(LodgingServiceClass lodging);
+
+    /**
+     * Get the cheapest lodging that still has free rooms (earliest registered on ties).
+     *
+     * @return cheapest lodging with free rooms, or null if all are full
+     */
+    LodgingServiceClass getCheapestWithFreeRooms();
+}
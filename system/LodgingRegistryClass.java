@@ -0,0 +1,82 @@
+/**
+ * @author Tomás Silvestre 68594 tm.silvestre@campus.fct.unl.pt
+ * @author Ricardo Laur 68342 r.laur@campus.fct.unl.pt
+ */
+package system;
+import dataStructures.*;
+
+import java.io.Serializable;
+
+/**
+ * Concrete implementation of the LodgingRegistry interface.
+ * Lodgings are kept in a hash table by case-insensitive name and, while they have
+ * free rooms, in an AVL tree keyed by (price, insertion id).
+ */
+public class LodgingRegistryClass implements LodgingRegistry, Serializable {
+    private static final long serialVersionUID = 0L;
+
+    private static final int INITIAL_LODGINGS = 50;
+
+    private final Map<CaseInsensitiveString, LodgingServiceClass> lodgingsByName;
+    private final SortedMap<PriceKey, LodgingServiceClass> freeLodgings;
+
+    /**
+     * Create an empty registry.
+     */
+    public LodgingRegistryClass() {
+        lodgingsByName = new SepChainHashTable<>(INITIAL_LODGINGS);
+        freeLodgings = new AVLSortedMap<>();
+    }
+
+    /**
+     * Register a new lodging.
+     * Time complexity: O(log n)
+     *
+     * @pre lodging != null
+     * @param lodging lodging to register
+     */
+    @Override
+    public void addLodging(LodgingServiceClass lodging) {
+        lodgingsByName.put(new CaseInsensitiveString(lodging.getName()), lodging);
+        updateVacancy(lodging);
+    }
+
+    /**
+     * Get a lodging by name.
+     * Time complexity: O(1) expected
+     *
+     * @pre name != null
+     * @param name lodging name (case-insensitive)
+     * @return the lodging, or null if there is no lodging with that name
+     */
+    @Override
+    public LodgingServiceClass getLodging(String name) {
+        return lodgingsByName.get(new CaseInsensitiveString(name));
+    }
+
+    /**
+     * Update the free rooms index after the occupancy of a lodging changed.
+     * Time complexity: O(log n)
+     *
+     * @pre lodging was registered
+     * @param lodging lodging whose occupancy changed
+     */
+    @Override
+    public void updateVacancy(LodgingServiceClass lodging) {
+        PriceKey key = new PriceKey(lodging);
+        if (lodging.hasFreeRooms()) freeLodgings.put(key, lodging);
+        else if (freeLodgings.get(key) != null) freeLodgings.remove(key);
+    }
+
+    /**
+     * Get the cheapest lodging that still has free rooms (earliest registered on ties).
+     * Time complexity: O(log n)
+     *
+     * @return cheapest lodging with free rooms, or null if all are full
+     */
+    @Override
+    public LodgingServiceClass getCheapestWithFreeRooms() {
+        if (freeLodgings.isEmpty()) return null;
+        return freeLodgings.minEntry().value();
+    }
+}
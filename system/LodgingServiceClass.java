@@ -3,6 +3,8 @@
  * @author Ricardo Laur 68342 r.laur@campus.fct.unl.pt
  */
 package system;
+import dataStructures.Position;
+
 import java.io.Serializable;
 
 public class LodgingServiceClass extends StudentsStoringServiceClass implements LodgingService, Serializable {
@@ -21,9 +23,10 @@ public class LodgingServiceClass extends StudentsStoringServiceClass implements
      * @param singleRoomsNum number of single rooms available
      * @param st service type (ServiceType.lodging)
      * @param serviceName canonical service name
+     * @param serviceId insertion number of the service
      */
-    public LodgingServiceClass(LocationClass loc, float price, int singleRoomsNum, ServiceType st, String serviceName) {
-        super(loc, st, serviceName);
+    public LodgingServiceClass(LocationClass loc, float price, int singleRoomsNum, ServiceType st, String serviceName, int serviceId) {
+        super(loc, st, serviceName, serviceId);
         monthlyCost = price;
         this.singleRoomsNum = singleRoomsNum;
         occupiedRoomsNum = 0;
@@ -72,4 +75,26 @@ public class LodgingServiceClass extends StudentsStoringServiceClass implements
         removeStoredStudent(student);
         occupiedRoomsNum--;
     }
-}
\ No newline at end of file
+
+    /**
+     * Get the position of the student in the students list of the student's home.
+     *
+     * @param student stored student
+     * @return position of the student
+     */
+    @Override
+    protected Position<StudentClass> getMembership(StudentClass student) {
+        return student.getHomePosition();
+    }
+
+    /**
+     * Keep the position of the student in the students list of the student's home.
+     *
+     * @param student stored student
+     * @param position position of the student (null when removed)
+     */
+    @Override
+    protected void setMembership(StudentClass student, Position<StudentClass> position) {
+        student.setHomePosition(position);
+    }
+}
@@ -13,4 +13,32 @@ public interface PlaneOfLocation {
      * @return true if location is inside bounds, false otherwise
      */
     boolean contains(Location location);
+
+    /**
+     * Smallest latitude covered by the plane.
+     *
+     * @return minimum latitude
+     */
+    long getMinLatitude();
+
+    /**
+     * Largest latitude covered by the plane.
+     *
+     * @return maximum latitude
+     */
+    long getMaxLatitude();
+
+    /**
+     * Smallest longitude covered by the plane.
+     *
+     * @return minimum longitude
+     */
+    long getMinLongitude();
+
+    /**
+     * Largest longitude covered by the plane.
+     *
+     * @return maximum longitude
+     */
+    long getMaxLongitude();
 }
\ No newline at end of file
@@ -33,12 +33,28 @@ public class PlaneOfLocationClass implements PlaneOfLocation, Serializable {
     @Override
     public boolean contains(Location location) {
         long[] coords = location.getLocation();
-        long xMin = Math.min(vertices[0].getLocation()[0], vertices[1].getLocation()[0]);
-        long xMax = Math.max(vertices[0].getLocation()[0], vertices[1].getLocation()[0]);
-        long yMin = Math.min(vertices[0].getLocation()[1], vertices[1].getLocation()[1]);
-        long yMax = Math.max(vertices[0].getLocation()[1], vertices[1].getLocation()[1]);
 
-        return (coords[0] >= xMin && coords[0] <= xMax)
-                && (coords[1] >= yMin && coords[1] <= yMax);
+        return (coords[0] >= getMinLatitude() && coords[0] <= getMaxLatitude())
+                && (coords[1] >= getMinLongitude() && coords[1] <= getMaxLongitude());
+    }
+
+    @Override
+    public long getMinLatitude() {
+        return Math.min(vertices[0].getLocation()[0], vertices[1].getLocation()[0]);
+    }
+
+    @Override
+    public long getMaxLatitude() {
+        return Math.max(vertices[0].getLocation()[0], vertices[1].getLocation()[0]);
+    }
+
+    @Override
+    public long getMinLongitude() {
+        return Math.min(vertices[0].getLocation()[1], vertices[1].getLocation()[1]);
+    }
+
+    @Override
+    public long getMaxLongitude() {
+        return Math.max(vertices[0].getLocation()[1], vertices[1].getLocation()[1]);
     }
 }
\ No newline at end of file
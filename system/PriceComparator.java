@@ -10,12 +10,14 @@ public class PriceComparator implements Comparator<ServiceClass>, Serializable {
     private static final long serialVersionUID = 0L;
 
     /**
-     * Compare two services by their price.
+     * Compare two services by their price, ties broken by insertion id.
+     * This is a total order: only a service compared with itself gives 0,
+     * and services with the same price keep their insertion order.
      *
      * @pre newElem != null && ElemInList != null
      * @param newElem the element to insert / compare
      * @param ElemInList element already in the list
-     * @return negative if newElem < ElemInList, positive if newElem > ElemInList, 1 if equal
+     * @return negative if newElem comes before ElemInList, positive if after, 0 if it is the same service
      */
     @Override
     public int compare(ServiceClass newElem, ServiceClass ElemInList) {
@@ -23,6 +25,6 @@ public class PriceComparator implements Comparator<ServiceClass>, Serializable {
         if (cmp != 0) {
             return cmp;
         }
-        return 1;
+        return Integer.compare(newElem.getId(), ElemInList.getId());
     }
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+/**
+ * @author Tomás Silvestre 68594 tm.silvestre@campus.fct.unl.pt
+ * @author Ricardo Laur 68342 r.laur@campus.fct.unl.pt
+ */
+package system;
+import java.io.Serializable;
+
+/**
+ * Sort key of a service by price, ties broken by the service insertion id,
+ * so that two services never have the same key.
+ */
+public class PriceKey implements Comparable<PriceKey>, Serializable {
+    private static final long serialVersionUID = 0L;
+
+    private final float price;
+    private final int id;
+
+    /**
+     * Build the key of a service.
+     *
+     * @pre service != null
+     * @param service service to key
+     */
+    public PriceKey(ServiceClass service) {
+        this.price = service.getPrice();
+        this.id = service.getId();
+    }
+
+    /**
+     * Compare by price, then by insertion id.
+     *
+     * @param other key to compare with
+     * @return negative, zero or positive as this key is smaller, equal or greater
+     */
+    @Override
+    public int compareTo(PriceKey other) {
+        int cmp = Float.compare(price, other.price);
+        if (cmp != 0) return cmp;
+        return Integer.compare(id, other.id);
+    }
+}
@@ -5,6 +5,13 @@
 package system;
 public interface Service {
 
+    /**
+     * Get the insertion number of the service in its area.
+     *
+     * @return service id
+     */
+    int getId();
+
     /**
      * Get the rounded evaluation average (1..5).
      *
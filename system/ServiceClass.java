@@ -3,6 +3,8 @@
  * @author Ricardo Laur 68342 r.laur@campus.fct.unl.pt
  */
 package system;
+import dataStructures.Position;
+
 import java.io.Serializable;
 
 public abstract class ServiceClass implements Service, Serializable {
@@ -11,6 +13,10 @@ public abstract class ServiceClass implements Service, Serializable {
     private EvaluationClass serviceEvaluation;
     private final ServiceType serviceType;
     private final String serviceName;
+    private final int serviceId;
+    // positions in the area's rating buckets (relinked by the area after loading)
+    private transient Position<ServiceClass> ratingPosition;
+    private transient Position<ServiceClass> evaluationPosition;
 
     /**
      * Construct a ServiceClass with basic metadata.
@@ -19,12 +25,14 @@ public abstract class ServiceClass implements Service, Serializable {
      * @param loc location of the service
      * @param st service type
      * @param serviceName canonical name
+     * @param serviceId insertion number of the service in its area
      */
-    public ServiceClass(LocationClass loc, ServiceType st, String serviceName) {
+    public ServiceClass(LocationClass loc, ServiceType st, String serviceName, int serviceId) {
         this.serviceLocation = loc;
         serviceType = st;
         serviceEvaluation = new EvaluationClass();
         this.serviceName = serviceName;
+        this.serviceId = serviceId;
     }
 
     /**
@@ -37,6 +45,52 @@ public abstract class ServiceClass implements Service, Serializable {
         return serviceName;
     }
 
+    /**
+     * Get the insertion number of the service (0 for the first service of the area).
+     *
+     * @return service id
+     */
+    @Override
+    public int getId() {
+        return serviceId;
+    }
+
+    /**
+     * Get the position of the service in its (rating, type) bucket.
+     *
+     * @return position in the rating bucket
+     */
+    Position<ServiceClass> getRatingPosition() {
+        return ratingPosition;
+    }
+
+    /**
+     * Set the position of the service in its (rating, type) bucket.
+     *
+     * @param position position in the rating bucket
+     */
+    void setRatingPosition(Position<ServiceClass> position) {
+        ratingPosition = position;
+    }
+
+    /**
+     * Get the position of the service in its evaluation bucket.
+     *
+     * @return position in the evaluation bucket
+     */
+    Position<ServiceClass> getEvaluationPosition() {
+        return evaluationPosition;
+    }
+
+    /**
+     * Set the position of the service in its evaluation bucket.
+     *
+     * @param position position in the evaluation bucket
+     */
+    void setEvaluationPosition(Position<ServiceClass> position) {
+        evaluationPosition = position;
+    }
+
     /**
      * Get the EvaluationClass for this service.
      *
@@ -3,6 +3,8 @@
  * @author Ricardo Laur 68342 r.laur@campus.fct.unl.pt
  */
 package system;
+import dataStructures.Position;
+
 import java.io.Serializable;
 import system.exceptions.*;
 
@@ -14,6 +16,10 @@ public abstract class StudentClass implements Student, Serializable {
     private LodgingServiceClass home;
     private ServiceClass location;
     private final StudentType type;
+    // positions in the student lists of the home and of the current eating service
+    // (relinked by the area after loading)
+    private transient Position<StudentClass> homePosition;
+    private transient Position<StudentClass> eatingPosition;
 
     /**
      * Construct a student with given parameters. The student initially is located at home.
@@ -71,6 +77,42 @@ public abstract class StudentClass implements Student, Serializable {
         return home;
     }
 
+    /**
+     * Get the position of the student in the students list of their home.
+     *
+     * @return position in the home's list
+     */
+    Position<StudentClass> getHomePosition() {
+        return homePosition;
+    }
+
+    /**
+     * Set the position of the student in the students list of their home.
+     *
+     * @param position position in the home's list
+     */
+    void setHomePosition(Position<StudentClass> position) {
+        homePosition = position;
+    }
+
+    /**
+     * Get the position of the student in the students list of the eating service they are at.
+     *
+     * @return position in the eating service's list (null if not at an eating service)
+     */
+    Position<StudentClass> getEatingPosition() {
+        return eatingPosition;
+    }
+
+    /**
+     * Set the position of the student in the students list of the eating service they are at.
+     *
+     * @param position position in the eating service's list
+     */
+    void setEatingPosition(Position<StudentClass> position) {
+        eatingPosition = position;
+    }
+
     /**
      * Get the student's current service/location.
      *
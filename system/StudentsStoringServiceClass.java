@@ -10,7 +10,7 @@ import system.exceptions.*;
 public abstract class StudentsStoringServiceClass extends ServiceClass implements StudentsStoringService, Serializable {
     private static final long serialVersionUID = 0L;
 
-    private TwoWayList<StudentClass> students;
+    private PositionalList<StudentClass> students;
 
     /**
      * Construct a students-storing service.
@@ -18,10 +18,11 @@ public abstract class StudentsStoringServiceClass extends ServiceClass implement
      * @param loc location
      * @param st service type
      * @param serviceName canonical name
+     * @param serviceId insertion number of the service
      */
-    public StudentsStoringServiceClass(LocationClass loc, ServiceType st, String serviceName) {
-        super(loc, st, serviceName);
-        students = new DoublyLinkedList<>();
+    public StudentsStoringServiceClass(LocationClass loc, ServiceType st, String serviceName, int serviceId) {
+        super(loc, st, serviceName, serviceId);
+        students = new PositionalDoublyLinkedList<>();
     }
 
     /**
@@ -34,21 +35,54 @@ public abstract class StudentsStoringServiceClass extends ServiceClass implement
     }
 
     /**
-     * Append a student to the internal storage (helper).
+     * Append a student to the internal storage (helper) and keep the student's
+     * position in it.
+     * Time complexity: O(1)
      *
      * @param student student to store
      */
     protected void storeStudent(StudentClass student) {
-        students.addLast(student);
+        setMembership(student, students.addLastNode(student));
     }
 
     /**
-     * Remove an existing student from internal storage (helper).
+     * Remove an existing student from internal storage (helper), through the
+     * position kept by the student.
+     * Time complexity: O(1)
      *
      * @param student student to remove
      */
     protected void removeStoredStudent(StudentClass student) {
-        students.remove(students.indexOf(student));
+        students.removeNode(getMembership(student));
+        setMembership(student, null);
+    }
+
+    /**
+     * Get the position a student holds in the storage of this kind of service.
+     *
+     * @param student stored student
+     * @return position of the student in the storage
+     */
+    protected abstract Position<StudentClass> getMembership(StudentClass student);
+
+    /**
+     * Keep the position a student holds in the storage of this kind of service.
+     *
+     * @param student stored student
+     * @param position position of the student in the storage (null when removed)
+     */
+    protected abstract void setMembership(StudentClass student, Position<StudentClass> position);
+
+    /**
+     * Give every stored student back its position (positions are not serialized).
+     * Time complexity: O(n)
+     */
+    void relinkStudents() {
+        Iterator<Position<StudentClass>> it = students.positions();
+        while (it.hasNext()) {
+            Position<StudentClass> position = it.next();
+            setMembership(position.element(), position);
+        }
     }
 
     /**
@@ -70,9 +104,10 @@ public abstract class StudentsStoringServiceClass extends ServiceClass implement
     /**
      * Replace the internal students list (used during deserialization / reconstruction).
      *
-     * @param newStudents new two-way list to store
+     * @param newStudents new positional list to store
      */
-    public void setStudents(TwoWayList<StudentClass> newStudents) {
+    public void setStudents(PositionalList<StudentClass> newStudents) {
         this.students = newStudents;
+        relinkStudents();
     }
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+/**
+ * @author Tomás Silvestre 68594 tm.silvestre@campus.fct.unl.pt
+ * @author Ricardo Laur 68342 r.laur@campus.fct.unl.pt
+ */
+package system;
+import dataStructures.Iterator;
+
+/**
+ * Inverted index from the words used in evaluation descriptions
+ * to the services that were evaluated with them.
+ */
+public interface TagIndex {
+
+    /**
+     * Index every word of an evaluation description of a service.
+     *
+     * @pre service != null && description != null
+     * @param service evaluated service
+     * @param description evaluation description
+     */
+    void addDescription(ServiceClass service, String description);
+
+    /**
+     * Return the services whose evaluations contain the tag (whole words, case-insensitive),
+     * in insertion order.
+     *
+     * @pre tag != null
+     * @param tag search tag (one or more words)
+     * @return iterator over matching services
+     */
+    Iterator<ServiceClass> getServicesWithTag(String tag);
+
+    /**
+     * Return the services matching a boolean tag query, in insertion order.
+     * Operands are tags and operators are the upper-case words AND, OR and NOT
+     * (NOT meaning "and not"), applied from left to right.
+     * A query without operators is a single tag.
+     *
+     * @pre query != null
+     * @param query tag query, e.g. "good AND cheap NOT noisy"
+     * @return iterator over matching services
+     */
+    Iterator<ServiceClass> query(String query);
+}
@@ -0,0 +1,284 @@
+/**
+ * @author Tomás Silvestre 68594 tm.silvestre@campus.fct.unl.pt
+ * @author Ricardo Laur 68342 r.laur@campus.fct.unl.pt
+ */
+package system;
+import dataStructures.*;
+
+import java.io.Serializable;
+
+/**
+ * Concrete implementation of the TagIndex interface.
+ * Words are maximal runs of word characters (letters, digits, underscore),
+ * lower-cased. Each word maps to a posting list of the services that used it,
+ * kept sorted by service id (insertion order) and without repetitions.
+ * Boolean queries combine posting lists: AND and NOT gallop through the longer
+ * list, so their cost depends mostly on the shorter one.
+ */
+public class TagIndexClass implements TagIndex, Serializable {
+    private static final long serialVersionUID = 0L;
+
+    private static final int INITIAL_WORDS = 100;
+    private static final int INITIAL_POSTING = 4;
+
+    private static final String AND = "AND";
+    private static final String OR = "OR";
+    private static final String NOT = "NOT";
+
+    private final Map<String, ListInArray<ServiceClass>> postings;
+
+    /** Every service with at least one description, sorted by id (for tags without words) */
+    private final ListInArray<ServiceClass> evaluated;
+
+    /**
+     * Create an empty index.
+     */
+    public TagIndexClass() {
+        postings = new SepChainHashTable<>(INITIAL_WORDS);
+        evaluated = new ListInArray<>(INITIAL_WORDS);
+    }
+
+    /**
+     * Index every word of an evaluation description of a service.
+     * Time complexity: O(w * p), w = words in the description, p = posting list length
+     * (O(w log p) when the service is already indexed or is the newest one)
+     *
+     * @pre service != null && description != null
+     * @param service evaluated service
+     * @param description evaluation description
+     */
+    @Override
+    public void addDescription(ServiceClass service, String description) {
+        insertSorted(evaluated, service);
+        String text = description.toLowerCase();
+        int i = 0;
+        while (i < text.length()) {
+            while (i < text.length() && !EvaluationClass.isWordCharacter(text.charAt(i))) i++;
+            int start = i;
+            while (i < text.length() && EvaluationClass.isWordCharacter(text.charAt(i))) i++;
+            if (start < i) {
+                String word = text.substring(start, i);
+                ListInArray<ServiceClass> posting = postings.get(word);
+                if (posting == null) {
+                    posting = new ListInArray<>(INITIAL_POSTING);
+                    postings.put(word, posting);
+                }
+                insertSorted(posting, service);
+            }
+        }
+    }
+
+    /**
+     * Return the services whose evaluations contain the tag, in insertion order.
+     * Time complexity: O(1 + p) expected, p = length of the posting list walked
+     *
+     * @pre tag != null
+     * @param tag search tag
+     * @return iterator over matching services
+     */
+    @Override
+    public Iterator<ServiceClass> getServicesWithTag(String tag) {
+        return candidates(tag);
+    }
+
+    /**
+     * Return the services matching a boolean tag query, in insertion order.
+     * When the operators are misplaced (first, last or doubled) the whole query is taken as one tag.
+     * Time complexity: O(sum over operators of min(a, b) log(max(a, b) / min(a, b))) for AND and NOT,
+     * O(a + b) for OR, a and b being the sizes of the combined lists
+     *
+     * @pre query != null
+     * @param query tag query
+     * @return iterator over matching services
+     */
+    @Override
+    public Iterator<ServiceClass> query(String query) {
+        String[] tokens = query.trim().split("\\s+");
+        if (!isBooleanQuery(tokens)) return getServicesWithTag(query);
+
+        ListInArray<ServiceClass> result = null;
+        String operator = null;
+        int i = 0;
+        while (i < tokens.length) {
+            // operands may be phrases: join the tokens up to the next operator
+            StringBuilder operand = new StringBuilder(tokens[i++]);
+            while (i < tokens.length && !isOperator(tokens[i])) operand.append(' ').append(tokens[i++]);
+            ListInArray<ServiceClass> matches = matching(operand.toString());
+
+            if (result == null) result = matches;
+            else if (operator.equals(AND)) result = intersection(result, matches);
+            else if (operator.equals(OR)) result = union(result, matches);
+            else result = difference(result, matches);
+
+            if (i < tokens.length) operator = tokens[i++];
+        }
+        return result.iterator();
+    }
+
+    private static boolean isOperator(String token) {
+        return token.equals(AND) || token.equals(OR) || token.equals(NOT);
+    }
+
+    /**
+     * A query is boolean if it has operators, each one between two operands.
+     */
+    private static boolean isBooleanQuery(String[] tokens) {
+        boolean hasOperator = false;
+        for (int i = 0; i < tokens.length; i++) {
+            if (isOperator(tokens[i])) {
+                if (i == 0 || i == tokens.length - 1 || isOperator(tokens[i - 1])) return false;
+                hasOperator = true;
+            }
+        }
+        return hasOperator;
+    }
+
+    /**
+     * Services matching a single tag, as a list sorted by id.
+     * A one-word tag returns its posting list itself, which must not be modified.
+     * Time complexity: O(1 + p) expected
+     */
+    private ListInArray<ServiceClass> matching(String tag) {
+        if (isSingleWord(tag)) {
+            ListInArray<ServiceClass> posting = postings.get(tag.toLowerCase());
+            return posting == null ? new ListInArray<>(1) : posting;
+        }
+        ListInArray<ServiceClass> result = new ListInArray<>(INITIAL_POSTING);
+        Iterator<ServiceClass> it = candidates(tag);
+        while (it.hasNext()) result.addLast(it.next());
+        return result;
+    }
+
+    private static boolean isSingleWord(String tag) {
+        if (tag.isEmpty()) return false;
+        for (int i = 0; i < tag.length(); i++)
+            if (!EvaluationClass.isWordCharacter(tag.charAt(i))) return false;
+        return true;
+    }
+
+    /**
+     * Services whose evaluations contain the tag.
+     * A one-word tag is answered by its posting list alone; a longer tag walks the
+     * shortest posting list of its words and checks each candidate; a tag without
+     * words checks every evaluated service.
+     * Time complexity: O(1 + p) expected, p = length of the list walked
+     */
+    private Iterator<ServiceClass> candidates(String tag) {
+        if (isSingleWord(tag)) return matching(tag).iterator();
+
+        String text = tag.toLowerCase();
+        ListInArray<ServiceClass> shortest = evaluated;
+        int i = 0;
+        while (i < text.length()) {
+            while (i < text.length() && !EvaluationClass.isWordCharacter(text.charAt(i))) i++;
+            int start = i;
+            while (i < text.length() && EvaluationClass.isWordCharacter(text.charAt(i))) i++;
+            if (start < i) {
+                ListInArray<ServiceClass> posting = postings.get(text.substring(start, i));
+                if (posting == null) return new ListInArray<ServiceClass>(1).iterator();
+                if (posting.size() < shortest.size()) shortest = posting;
+            }
+        }
+
+        Predicate<ServiceClass> pred = s -> s.getEvaluation().containsTag(tag);
+        return new FilterIterator<>(shortest.iterator(), pred);
+    }
+
+    /**
+     * Services present in both lists.
+     * Time complexity: O(m log(n / m)), m and n the sizes of the shorter and longer list
+     */
+    private static ListInArray<ServiceClass> intersection(ListInArray<ServiceClass> a, ListInArray<ServiceClass> b) {
+        ListInArray<ServiceClass> small = a.size() <= b.size() ? a : b;
+        ListInArray<ServiceClass> large = small == a ? b : a;
+        ListInArray<ServiceClass> result = new ListInArray<>(Math.max(small.size(), 1));
+        int j = 0;
+        for (int i = 0; i < small.size() && j < large.size(); i++) {
+            ServiceClass s = small.get(i);
+            j = gallop(large, j, s.getId());
+            if (j < large.size() && large.get(j).getId() == s.getId()) result.addLast(s);
+        }
+        return result;
+    }
+
+    /**
+     * Services present in a but not in b.
+     * Time complexity: O(a log(b / a)) when a is shorter than b, O(a + b) otherwise
+     */
+    private static ListInArray<ServiceClass> difference(ListInArray<ServiceClass> a, ListInArray<ServiceClass> b) {
+        ListInArray<ServiceClass> result = new ListInArray<>(Math.max(a.size(), 1));
+        int j = 0;
+        for (int i = 0; i < a.size(); i++) {
+            ServiceClass s = a.get(i);
+            j = gallop(b, j, s.getId());
+            if (j == b.size() || b.get(j).getId() != s.getId()) result.addLast(s);
+        }
+        return result;
+    }
+
+    /**
+     * Services present in either list.
+     * Time complexity: O(a + b)
+     */
+    private static ListInArray<ServiceClass> union(ListInArray<ServiceClass> a, ListInArray<ServiceClass> b) {
+        ListInArray<ServiceClass> result = new ListInArray<>(Math.max(a.size() + b.size(), 1));
+        int i = 0, j = 0;
+        while (i < a.size() && j < b.size()) {
+            int idA = a.get(i).getId(), idB = b.get(j).getId();
+            if (idA <= idB) result.addLast(a.get(i++));
+            else result.addLast(b.get(j++));
+            if (idA == idB) j++;
+        }
+        while (i < a.size()) result.addLast(a.get(i++));
+        while (j < b.size()) result.addLast(b.get(j++));
+        return result;
+    }
+
+    /**
+     * First position at or after `from` whose service id is not smaller than `id`
+     * (list.size() if there is none). Probes from, from+1, from+3, from+7, ... and
+     * then binary searches the last gap.
+     * Time complexity: O(log d), d = distance between from and the returned position
+     */
+    private static int gallop(ListInArray<ServiceClass> list, int from, int id) {
+        int size = list.size();
+        int low = from;
+        int offset = 1;
+        while (from + offset - 1 < size && list.get(from + offset - 1).getId() < id) {
+            low = from + offset;
+            offset <<= 1;
+        }
+        int high = Math.min(from + offset - 1, size);
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (list.get(mid).getId() < id) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    /**
+     * Add a service to a list sorted by id, unless it is already there.
+     * Time complexity: O(log p) to find the place, O(p) to shift when inserting in the middle
+     *
+     * @param list list sorted by id
+     * @param service service to add
+     */
+    private static void insertSorted(ListInArray<ServiceClass> list, ServiceClass service) {
+        int id = service.getId();
+        // common case: the newest service is appended
+        if (list.isEmpty() || list.getLast().getId() < id) {
+            list.addLast(service);
+            return;
+        }
+        int low = 0, high = list.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midId = list.get(mid).getId();
+            if (midId == id) return;
+            if (midId < id) low = mid + 1;
+            else high = mid - 1;
+        }
+        list.add(low, service);
+    }
+}
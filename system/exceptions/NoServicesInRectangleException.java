@@ -0,0 +1,8 @@
+/**
+ * @author Tomás Silvestre 68594 tm.silvestre@campus.fct.unl.pt
+ * @author Ricardo Laur 68342 r.laur@campus.fct.unl.pt
+ */
+package system.exceptions;
+public class NoServicesInRectangleException extends RuntimeException {
+    static final long serialVersionUID = 0L;
+}
\ No newline at end of file